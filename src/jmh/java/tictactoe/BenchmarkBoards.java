@@ -0,0 +1,55 @@
+package tictactoe;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Positions and games shared by the benchmarks.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+final class BenchmarkBoards {
+
+    /**
+     * Not instantiable; all methods are static.
+     */
+    private BenchmarkBoards() {
+    }
+
+    /**
+     * Returns the win length benchmarked for a board size: 3 in a row on the
+     * classic board and gomoku-style 5 in a row on larger ones.
+     *
+     * @param size The number of rows and columns.
+     * @return The win length.
+     */
+    static int winLength(int size) {
+        return Math.min(size, size <= 3 ? 3 : 5);
+    }
+
+    /**
+     * Plays random games until one ends in a win, and returns its moves.
+     *
+     * @param size The number of rows and columns.
+     * @param winLength The number of marks in a row needed to win.
+     * @param random The random number generator.
+     * @return The squares played, in order; the last one wins.
+     */
+    static int[] randomWin(int size, int winLength, SplittableRandom random) {
+        TicTacToeBoard board = new TicTacToeBoard(size, winLength);
+        TicTacToeStrategy strategy = TicTacToeStrategy.random();
+        int[] moves = new int[size * size];
+        while (true) {
+            board.clear();
+            int count = 0;
+            int winner = TicTacToeBoard.NONE;
+            while (winner == TicTacToeBoard.NONE) {
+                moves[count] = strategy.chooseMove(board, random);
+                winner = board.play(moves[count++]);
+            }
+            if (winner != TicTacToeBoard.TIE) return Arrays.copyOf(moves, count);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Random playouts per second from an empty board, three ways: through the
+ * String-based model as the GUI plays, on one primitive board at a time, and
+ * BOARDS at a time with TicTacToeBatchPlayouts.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicTacToeBatchPlayoutsBenchmark {
+    private static final int BOARDS = 4096;
+
+    @Param({"3", "8"})
+    public int size;
+
+    private TicTacToeModel model;
+    private TicTacToeBoard empty;
+    private TicTacToeBoard board;
+    private TicTacToeStrategy random;
+    private TicTacToeBatchPlayouts batch;
+    private final SplittableRandom rng = new SplittableRandom(42);
+
+    /**
+     * Creates the boards and the engine.
+     */
+    @Setup
+    public void setUp() {
+        int winLength = BenchmarkBoards.winLength(size);
+        model = new TicTacToeModel(size, winLength);
+        empty = new TicTacToeBoard(size, winLength);
+        board = new TicTacToeBoard(size, winLength);
+        random = TicTacToeStrategy.random();
+        batch = new TicTacToeBatchPlayouts(size, winLength, BOARDS);
+    }
+
+    /**
+     * Plays one random game through the model, finding empty squares by their marks.
+     *
+     * @return The winner.
+     */
+    @Benchmark
+    public String model() {
+        model.newGame();
+        int numSquares = size * size;
+        while (model.getWinner() == TicTacToeModel.EMPTY) {
+            int numEmpty = 0;
+            for (int square = 0; square < numSquares; square++) {
+                if (model.getMark(square / size, square % size) == TicTacToeModel.EMPTY) numEmpty++;
+            }
+            int pick = rng.nextInt(numEmpty);
+            for (int square = 0; ; square++) {
+                if (model.getMark(square / size, square % size) == TicTacToeModel.EMPTY && pick-- == 0) {
+                    model.makeMove(square / size, square % size);
+                    break;
+                }
+            }
+        }
+        return model.getWinner();
+    }
+
+    /**
+     * Plays one random game on a primitive board.
+     *
+     * @return The winner.
+     */
+    @Benchmark
+    public int board() {
+        board.clear();
+        int winner = TicTacToeBoard.NONE;
+        while (winner == TicTacToeBoard.NONE) {
+            winner = board.play(random.chooseMove(board, rng));
+        }
+        return winner;
+    }
+
+    /**
+     * Plays BOARDS random games at once.
+     *
+     * @return The number of games X won.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public int batch() {
+        batch.playOut(empty, rng);
+        return batch.getCount(TicTacToeBoard.X);
+    }
+}
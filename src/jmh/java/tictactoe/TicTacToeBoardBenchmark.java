@@ -0,0 +1,146 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for the primitive game core: applying moves, detecting a win on
+ * the last move, resetting the board and playing whole random games.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicTacToeBoardBenchmark {
+    @Param({"3", "8", "19"})
+    public int size;
+
+    private TicTacToeBoard board;  // scratch board for each benchmark
+    private TicTacToeBoard symmetricBoard;  // scratch board keeping the hashes of its 8 images
+    private TicTacToeBoard beforeWin;  // the position just before a winning move
+    private int winningSquare;
+    private int[] game;  // a recorded game, move by move
+    private TicTacToeStrategy random;
+    private SplittableRandom rng;
+
+    /**
+     * Records a random game that ends in a win, and sets up the boards.
+     */
+    @Setup
+    public void setUp() {
+        int winLength = BenchmarkBoards.winLength(size);
+        board = new TicTacToeBoard(size, winLength);
+        symmetricBoard = new TicTacToeBoard(size, winLength);
+        symmetricBoard.setSymmetryHashing(true);
+        random = TicTacToeStrategy.random();
+        rng = new SplittableRandom(42);
+        game = BenchmarkBoards.randomWin(size, winLength, rng);
+
+        beforeWin = new TicTacToeBoard(size, winLength);
+        for (int i = 0; i < game.length - 1; i++) {
+            beforeWin.play(game[i]);
+        }
+        winningSquare = game[game.length - 1];
+    }
+
+    /**
+     * Resets the board.
+     */
+    @Benchmark
+    public void reset() {
+        board.clear();
+    }
+
+    /**
+     * Resets the board and applies one move; subtract reset for the cost of the move.
+     *
+     * @return The winner after the move, so the move isn't optimized away.
+     */
+    @Benchmark
+    public int resetAndApplyMove() {
+        board.clear();
+        return board.play(size * size / 2);
+    }
+
+    /**
+     * Checks whether the last move of a won game wins.
+     *
+     * @return true, so the check isn't optimized away.
+     */
+    @Benchmark
+    public boolean detectWinOnLastMove() {
+        return beforeWin.isWinningMove(beforeWin.getPlayer(), winningSquare);
+    }
+
+    /**
+     * Replays a recorded game from an empty board, checking for a win on every move.
+     *
+     * @return The winner of the game.
+     */
+    @Benchmark
+    public int replayGame() {
+        board.clear();
+        int winner = TicTacToeBoard.NONE;
+        for (int square : game) {
+            winner = board.play(square);
+        }
+        return winner;
+    }
+
+    /**
+     * Replays a recorded game, taking the canonical hash of every position.
+     * Compare with replayGame for the cost of keeping the 8 hashes.
+     *
+     * @return The hashes combined, so they aren't optimized away.
+     */
+    @Benchmark
+    public long replayGameCanonicalHash() {
+        symmetricBoard.clear();
+        long hashes = 0;
+        for (int square : game) {
+            symmetricBoard.play(square);
+            hashes += symmetricBoard.getCanonicalHash();
+        }
+        return hashes;
+    }
+
+    /**
+     * Replays a recorded game, looking up the game's status after every move.
+     * gc.alloc.rate.norm should be 0 B/op.
+     *
+     * @return The final status.
+     */
+    @Benchmark
+    public TicTacToeStatus moveCheckReport() {
+        board.clear();
+        TicTacToeStatus status = TicTacToeStatus.of(board);
+        for (int square : game) {
+            board.play(square);
+            status = TicTacToeStatus.of(board);
+        }
+        return status;
+    }
+
+    /**
+     * Plays a random game to the end from an empty board.
+     *
+     * @return The winner of the game.
+     */
+    @Benchmark
+    public int randomPlayout() {
+        board.clear();
+        int winner = TicTacToeBoard.NONE;
+        while (winner == TicTacToeBoard.NONE) {
+            winner = board.play(random.chooseMove(board, rng));
+        }
+        return winner;
+    }
+}
@@ -0,0 +1,55 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for Monte Carlo Tree Search, in playouts per second per searching
+ * thread: each operation is one playout, and every thread of a root-parallel
+ * search makes PLAYOUTS of them per move.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicTacToeMctsBenchmark {
+    private static final int PLAYOUTS = 2000;
+
+    @Param({"3", "8", "19"})
+    public int size;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private TicTacToeBoard board;
+    private TicTacToeMcts mcts;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    /**
+     * Creates an empty board and a player.
+     */
+    @Setup
+    public void setUp() {
+        board = new TicTacToeBoard(size, BenchmarkBoards.winLength(size));
+        mcts = new TicTacToeMcts(PLAYOUTS, 0, threads);
+    }
+
+    /**
+     * Searches the empty board.
+     *
+     * @return The chosen square.
+     */
+    @Benchmark
+    @OperationsPerInvocation(PLAYOUTS)
+    public int searchEmptyBoard() {
+        return mcts.chooseMove(board, random);
+    }
+}
@@ -0,0 +1,108 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for the model as the GUI drives it: setSquare, newGame,
+ * getGameState and undo, with no listeners registered.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicTacToeModelBenchmark {
+    @Param({"3", "8", "19"})
+    public int size;
+
+    private TicTacToeModel model;
+    private int[] game;  // a recorded game that ends in a win
+
+    /**
+     * Creates the model and records a game to replay.
+     */
+    @Setup
+    public void setUp() {
+        int winLength = BenchmarkBoards.winLength(size);
+        model = new TicTacToeModel(size, winLength);
+        game = BenchmarkBoards.randomWin(size, winLength, new SplittableRandom(42));
+    }
+
+    /**
+     * Starts a new game.
+     */
+    @Benchmark
+    public void newGame() {
+        model.newGame();
+    }
+
+    /**
+     * Starts a new game and replays a recorded game through setSquare.
+     *
+     * @return The winner, so the game isn't optimized away.
+     */
+    @Benchmark
+    public String replayGame() {
+        model.newGame();
+        for (int square : game) {
+            model.setSquare(square / size, square % size);
+        }
+        return model.getWinner();
+    }
+
+    /**
+     * Replays a recorded game, reporting the game's state after every move the
+     * way the view does.  gc.alloc.rate.norm should be close to 0 B/op.
+     *
+     * @return The last state reported.
+     */
+    @Benchmark
+    public String moveCheckReport() {
+        model.newGame();
+        String state = model.getGameState();
+        for (int square : game) {
+            model.setSquare(square / size, square % size);
+            state = model.getGameState();
+        }
+        return state;
+    }
+
+    /**
+     * Replays a recorded game, then takes every move back and redoes it.
+     * gc.alloc.rate.norm should be 0 B/op.
+     *
+     * @return The winner after the game is redone.
+     */
+    @Benchmark
+    public String makeUnmakeRedo() {
+        model.newGame();
+        for (int square : game) {
+            model.makeMove(square / size, square % size);
+        }
+        while (model.unmakeMove()) {
+            // take back the whole game, win included
+        }
+        while (model.redoMove()) {
+            // and play it again
+        }
+        return model.getWinner();
+    }
+
+    /**
+     * Returns the game's state as a String.
+     *
+     * @return The game state.
+     */
+    @Benchmark
+    public String getGameState() {
+        return model.getGameState();
+    }
+}
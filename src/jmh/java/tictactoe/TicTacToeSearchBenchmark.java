@@ -0,0 +1,68 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * The time the alpha-beta player takes to search a position a few moves into
+ * a game to a fixed depth, which bounds how deep it gets within the GUI's time
+ * limit per move.  Every search starts with an empty transposition table, as
+ * the search of a new position would, rather than finding the last one's.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicTacToeSearchBenchmark {
+    private static final int OPENING_MOVES = 4;
+
+    @Param({"8", "15", "64"})
+    public int size;
+
+    @Param({"2", "4"})
+    public int depth;
+
+    private TicTacToeBoard board;
+    private TicTacToeSearch search;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    /**
+     * Plays OPENING_MOVES moves around the middle of the board, and creates a
+     * player limited by depth only.
+     */
+    @Setup
+    public void setUp() {
+        int winLength = BenchmarkBoards.winLength(size);
+        board = new TicTacToeBoard(size, winLength);
+        int center = (size / 2) * size + size / 2;
+        int[] offsets = {0, 1, size, size + 1};
+        for (int i = 0; i < OPENING_MOVES; i++) board.play(center + offsets[i]);
+        search = new TicTacToeSearch(0, depth);
+    }
+
+    /**
+     * Empties the transposition table of the benchmark thread.
+     */
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        TicTacToeSearch.reset();
+    }
+
+    /**
+     * Searches the position.
+     *
+     * @return The chosen square.
+     */
+    @Benchmark
+    public int search() {
+        return search.chooseMove(board, random);
+    }
+}
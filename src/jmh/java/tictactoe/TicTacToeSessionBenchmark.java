@@ -0,0 +1,110 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * The cost of sessions: restoring the GUI's game from its file at startup,
+ * capturing the model after a move, and checkpointing BOARDS games of a
+ * server or simulation into one buffer and back.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicTacToeSessionBenchmark {
+    private static final int BOARDS = 4096;
+
+    @Param({"3", "16"})
+    public int size;
+
+    private Path file;
+    private TicTacToeModel model;
+    private TicTacToeSession session;
+    private int[] moves;
+    private TicTacToeBoard board;
+    private ByteBuffer checkpoint;
+    private int[] decoded;
+
+    /**
+     * Saves a session of a game half played, and builds the game for checkpoints.
+     *
+     * @throws IOException If the session can't be saved.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        int winLength = BenchmarkBoards.winLength(size);
+        moves = BenchmarkBoards.randomWin(size, winLength, new SplittableRandom(42));
+        file = Files.createTempFile("tictactoe", ".session");
+        model = new TicTacToeModel(size, winLength);
+        session = new TicTacToeSession(file, model);
+        model.addListener(session);
+        for (int i = 0; i < moves.length / 2; i++) model.makeMove(moves[i] / size, moves[i] % size);
+        session.save();
+
+        board = new TicTacToeBoard(size, winLength);
+        for (int i = 0; i < moves.length / 2; i++) board.play(moves[i]);
+        checkpoint = ByteBuffer.allocate(BOARDS * TicTacToeSession.recordBytes(size));
+        decoded = new int[size * size];
+    }
+
+    /**
+     * Deletes the session file.
+     *
+     * @throws IOException If it can't be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Restores the saved session into the model, replaying its moves.
+     *
+     * @return The number of moves restored.
+     * @throws IOException If the session can't be read.
+     */
+    @Benchmark
+    public int restore() throws IOException {
+        session.restore();
+        return model.getNumMoves();
+    }
+
+    /**
+     * Captures the model, as the session does after every change.
+     */
+    @Benchmark
+    public void capture() {
+        session.scoreChanged(0, 0);
+    }
+
+    /**
+     * Encodes a game into a checkpoint of BOARDS games and decodes it back.
+     *
+     * @return The number of moves decoded.
+     * @throws IOException If a record can't be decoded.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BOARDS)
+    public int checkpoint() throws IOException {
+        checkpoint.clear();
+        int numMoves = moves.length / 2;
+        for (int i = 0; i < BOARDS; i++) TicTacToeSession.encode(board, moves, numMoves, checkpoint);
+        checkpoint.flip();
+        int total = 0;
+        for (int i = 0; i < BOARDS; i++) total += TicTacToeSession.decode(checkpoint, board, decoded);
+        return total;
+    }
+}
@@ -0,0 +1,89 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for lock-free shared games under contention: every thread playing
+ * in one game, and every thread playing its own game while all of them count
+ * results in one shared score.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class TicTacToeSharedGameBenchmark {
+    /**
+     * One game played by every thread.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedGame {
+        final TicTacToeSharedGame game = new TicTacToeSharedGame(3, 3);
+    }
+
+    /**
+     * A score shared by every thread.
+     */
+    @State(Scope.Benchmark)
+    public static class SharedScore {
+        final TicTacToeSharedGame.Score score = new TicTacToeSharedGame.Score();
+    }
+
+    /**
+     * Each thread's own game and random numbers.
+     */
+    @State(Scope.Thread)
+    public static class Player {
+        TicTacToeSharedGame game;
+        final SplittableRandom random = new SplittableRandom(42);
+
+        @Setup
+        public void setUp(SharedScore shared) {
+            game = new TicTacToeSharedGame(3, 3, shared.score);
+        }
+    }
+
+    /**
+     * Plays a random square in a game, starting a new game once it is over.
+     *
+     * @param game The game.
+     * @param random The random numbers.
+     * @return The result of the move.
+     */
+    private static int move(TicTacToeSharedGame game, SplittableRandom random) {
+        int result = game.play(random.nextInt(9));
+        if (result >= 0) game.newGame();
+        return result;
+    }
+
+    /**
+     * Every thread plays random squares in the same game.
+     *
+     * @param shared The shared game.
+     * @param player The thread's random numbers.
+     * @return The result of the move.
+     */
+    @Benchmark
+    public int playSharedGame(SharedGame shared, Player player) {
+        return move(shared.game, player.random);
+    }
+
+    /**
+     * Every thread plays random squares in its own game, with a shared score.
+     *
+     * @param player The thread's game.
+     * @return The result of the move.
+     */
+    @Benchmark
+    public int playOwnGame(Player player) {
+        return move(player.game, player.random);
+    }
+}
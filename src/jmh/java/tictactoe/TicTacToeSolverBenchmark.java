@@ -0,0 +1,70 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks for the perfect-play solver, querying the table it fills at startup.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TicTacToeSolverBenchmark {
+    private static final int NUM_POSITIONS = 1024;
+
+    private final int[] mine = new int[NUM_POSITIONS];  // positions seen from the side to move
+    private final int[] theirs = new int[NUM_POSITIONS];
+    private int next;
+
+    /**
+     * Collects positions from random games that are still in progress.
+     */
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        TicTacToeBoard board = new TicTacToeBoard();
+        TicTacToeStrategy strategy = TicTacToeStrategy.random();
+        int count = 0;
+        while (count < NUM_POSITIONS) {
+            board.clear();
+            while (board.getWinner() == TicTacToeBoard.NONE && count < NUM_POSITIONS) {
+                int player = board.getPlayer();
+                mine[count] = (int) board.getBits(player);
+                theirs[count] = (int) board.getBits(player ^ 1);
+                count++;
+                board.play(strategy.chooseMove(board, random));
+            }
+        }
+    }
+
+    /**
+     * Evaluates the next position.
+     *
+     * @return The value of the position.
+     */
+    @Benchmark
+    public int evaluate() {
+        int i = next++ & (NUM_POSITIONS - 1);
+        return TicTacToeSolver.evaluate(mine[i], theirs[i]);
+    }
+
+    /**
+     * Finds the best move in the next position.
+     *
+     * @return The best square.
+     */
+    @Benchmark
+    public int bestMove() {
+        int i = next++ & (NUM_POSITIONS - 1);
+        return TicTacToeSolver.bestMove(mine[i], theirs[i]);
+    }
+}
@@ -0,0 +1,103 @@
+package tictactoe;
+
+import java.awt.GraphicsEnvironment;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the game's startup: each operation launches a JVM running the
+ * game with -Dtictactoe.startup=exit, so it measures the whole time from the
+ * launch to the first paint of the board, with and without a class data
+ * sharing archive trained on the same launch.
+ *
+ * The game is run from target/tictactoe.jar, since classes are only archived
+ * from jar files, and needs a display.  The time from main alone is printed by
+ * every launch on standard error.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TicTacToeStartupBenchmark {
+    @Param({"false", "true"})
+    public boolean cds;
+
+    private Path jar;
+    private Path archive;
+
+    /**
+     * Finds the jar and, with cds, trains an archive for it.
+     *
+     * @throws IOException If the archive can't be made.
+     * @throws InterruptedException If interrupted while training.
+     */
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        if (GraphicsEnvironment.isHeadless()) {
+            throw new IllegalStateException("timing the first paint needs a display");
+        }
+        jar = Paths.get(System.getProperty("tictactoe.jar", "target/tictactoe.jar"));
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException(jar + " not found; run mvn package first");
+        }
+        if (cds) {
+            archive = Files.createTempFile("tictactoe", ".jsa");
+            Files.delete(archive);
+            launch("-XX:ArchiveClassesAtExit=" + archive);
+        }
+    }
+
+    /**
+     * Deletes the archive.
+     *
+     * @throws IOException If it can't be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        if (archive != null) Files.deleteIfExists(archive);
+    }
+
+    /**
+     * Launches the game and waits for it to exit after its first paint.
+     *
+     * @throws IOException If the JVM can't be started.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    @Benchmark
+    public void firstPaint() throws IOException, InterruptedException {
+        launch(cds ? "-XX:SharedArchiveFile=" + archive : "-Xshare:auto");
+    }
+
+    /**
+     * Runs the game up to its first paint.
+     *
+     * @param option A JVM option for the launch.
+     * @throws IOException If the JVM can't be started or fails.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    private void launch(String option) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add(option);
+        command.add("-Dtictactoe.startup=exit");
+        command.add("-jar");
+        command.add(jar.toString());
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IOException("the game exited with " + process.exitValue());
+        }
+    }
+}
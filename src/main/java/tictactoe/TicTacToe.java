@@ -0,0 +1,157 @@
+package tictactoe;
+
+/**
+ * A TicTacToe game with a GUI, implemented with a model-view-controller design.
+ *
+ * Usage: java -jar tictactoe.jar [size [winLength]]
+ * With no arguments the classic 3x3 game with 3 in a row is played.  A single
+ * argument plays on a size x size board with 3 in a row (or size in a row if the
+ * board is smaller), e.g. "java -jar tictactoe.jar 15 5" plays gomoku on a 15x15 board.
+ * Running with -Dtictactoe.log=FILE appends every finished game to a TicTacToeGameLog,
+ * and -Dtictactoe.analytics=SECONDS prints TicTacToeAnalytics of the games played
+ * every SECONDS seconds.
+ *
+ * The game in progress, the starting player and the score are kept in a
+ * TicTacToeSession file, .tictactoe-SIZExSIZE-WINLENGTH.session in the home
+ * directory by default, which is restored at startup, saved in the background
+ * every tictactoe.session.interval seconds (5 by default) after a change, and
+ * saved on exit.  -Dtictactoe.session=FILE uses another file, and
+ * -Dtictactoe.session= with no file turns sessions off.
+ *
+ * Game > Play vs. computer has the computer play O, thinking in the background
+ * for up to -Dtictactoe.computer.millis=MILLIS milliseconds per move (1000 by
+ * default).  If there is a TicTacToeTablebase of the board, tictactoe-SIZExSIZE-WINLENGTH.tb
+ * in the working directory or the file named by -Dtictactoe.tablebase=FILE, it
+ * is memory-mapped at startup and the computer plays perfectly with one lookup
+ * per move instead.
+ *
+ * The window is built on the Swing event thread and shown before anything else
+ * is loaded: the icons and the sounds are only decoded once the board has been
+ * painted.  Running with -Dtictactoe.startup=trace prints the time from main to
+ * the first paint, and -Dtictactoe.startup=exit also exits right after it, to
+ * time startups or to train a class data sharing archive:
+ *
+ *   java -XX:ArchiveClassesAtExit=tictactoe.jsa -Dtictactoe.startup=exit -jar tictactoe.jar
+ *   java -XX:SharedArchiveFile=tictactoe.jsa -jar tictactoe.jar
+ *
+ * ("mvn -Pcds package" writes target/tictactoe.jsa this way.)  A class list made
+ * with -XX:DumpLoadedClassList=FILE can be turned into a static archive with
+ * -Xshare:dump -XX:SharedClassListFile=FILE -XX:SharedArchiveFile=ARCHIVE instead.
+ *
+ * @author Hubert Dang
+ * @version April 4, 2023
+ */
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import javax.swing.*;
+
+public class TicTacToe {
+    private static final String STARTUP = System.getProperty("tictactoe.startup", "");  // "", "trace" or "exit"
+    private static final long SESSION_INTERVAL = Long.getLong("tictactoe.session.interval", 5);  // seconds
+
+    public static void main(String[] args) throws IOException {
+        long start = System.nanoTime();
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int winLength = args.length > 1 ? Integer.parseInt(args[1]) : Math.min(size, 3);
+
+        TicTacToeModel model = new TicTacToeModel(size, winLength);
+
+        // record finished games if asked to
+        String logFile = System.getProperty("tictactoe.log");
+        if (logFile != null) {
+            model.addListener(new TicTacToeGameLog(Path.of(logFile), size, winLength));
+        }
+
+        // print statistics of the games played if asked to
+        long analyticsInterval = Long.getLong("tictactoe.analytics", 0);
+        if (analyticsInterval > 0) {
+            TicTacToeAnalytics analytics = new TicTacToeAnalytics(size, winLength);
+            model.addListener(analytics);
+            analytics.printEvery(analyticsInterval);
+        }
+
+        // carry on from the last session, after the listeners above so they see its moves
+        String sessionFile = System.getProperty("tictactoe.session", Path.of(System.getProperty("user.home"),
+                ".tictactoe-" + size + "x" + size + "-" + winLength + ".session").toString());
+        if (!sessionFile.isEmpty()) {
+            TicTacToeSession session = new TicTacToeSession(Path.of(sessionFile), model);
+            long restoreStart = System.nanoTime();
+            try {
+                if (session.restore() && !STARTUP.isEmpty()) {
+                    System.err.printf("session restored in %.1f us%n", (System.nanoTime() - restoreStart) / 1e3);
+                }
+            } catch (IOException e) {
+                System.err.println("Can't restore the last session: " + e.getMessage());
+            }
+            model.addListener(session);
+            session.saveEvery(SESSION_INTERVAL);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    session.close();
+                } catch (IOException e) {
+                    System.err.println("Can't save session: " + e);
+                }
+            }, "TicTacToe session"));
+        }
+
+        // play perfectly from a table of the board, if there is one
+        TicTacToeTablebase tablebase = null;
+        Path tablebaseFile = TicTacToeTablebase.defaultPath(size, winLength);
+        long openStart = System.nanoTime();
+        try {
+            tablebase = TicTacToeTablebase.open(tablebaseFile);
+            if (!tablebase.supports(model.getCore())) {
+                System.err.println(tablebaseFile + " is not a tablebase of this board");
+                tablebase = null;
+            } else if (!STARTUP.isEmpty()) {
+                System.err.printf("tablebase opened in %.1f us%n", (System.nanoTime() - openStart) / 1e3);
+            }
+        } catch (NoSuchFileException e) {
+            // no table: the computer searches
+        } catch (IOException e) {
+            System.err.println("Can't open the tablebase: " + e.getMessage());
+        }
+
+        TicTacToeTablebase computer = tablebase;
+        SwingUtilities.invokeLater(() -> show(model, computer, start));
+    }
+
+    /**
+     * Builds and shows the window, then loads the assets it can do without.
+     * Runs on the Swing event thread.
+     *
+     * @param model The game's model.
+     * @param tablebase The table the computer plays from, or null if it searches.
+     * @param start The System.nanoTime() main started at.
+     */
+    private static void show(TicTacToeModel model, TicTacToeTablebase tablebase, long start) {
+        TicTacToeView view = new TicTacToeView(model);
+        TicTacToeController controller = new TicTacToeController(view, model);
+        if (tablebase != null) controller.setComputer(tablebase);
+
+        // enable the view to access the game's controllers in order to access button icons
+        view.setController(controller);
+
+        // register the view as a listener of the model
+        model.addListener(view);
+
+        controller.whenFirstPainted(() -> {
+            if (!STARTUP.isEmpty()) {
+                System.err.printf("first paint %.1f ms after main%n", (System.nanoTime() - start) / 1e6);
+                if (STARTUP.equals("exit")) System.exit(0);
+            }
+            view.loadIcons();
+            controller.loadSounds();
+        });
+
+        controller.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        controller.pack();
+        controller.setResizable(false);
+        controller.setVisible(true);
+
+        // Update the view to reflect the initial state of the model
+        view.refresh();
+    }
+}
@@ -0,0 +1,472 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Running statistics over finished games of one board: the results split by
+ * starting player, the results of each opening move for the player who made
+ * it, the distribution of game lengths and a heat map of each player's marks.
+ * Every aggregate is a fixed array of counts sized by the board, so memory
+ * stays the same however many games are added.
+ *
+ * Games come from game log records, from simulations, or live from a model:
+ * an aggregate is also a TicTacToeListener that adds every game the model
+ * finishes.  Aggregates of the same board can be merged, so work is
+ * partitioned by giving each worker its own aggregate and merging it into a
+ * shared one now and then; the shared one can be read for a snapshot at any
+ * time.  Every method locks the aggregate, which costs a worker nothing while
+ * no other thread is reading it.
+ *
+ * Usage: java -cp tictactoe.jar tictactoe.TicTacToeAnalytics [--threads N] [--interval SECONDS] FILE
+ * analyzes a TicTacToeGameLog, splitting it between the threads, and prints a
+ * snapshot every --interval seconds and the statistics at the end.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeAnalytics implements TicTacToeListener {
+    private static final int MERGE_GAMES = 1 << 16;  // games a log reader adds before merging
+    private static final int MAX_OPENINGS_SHOWN = 10;
+    private static final int MAX_HEAT_MAP_SIZE = 10;  // larger boards are too wide to print
+
+    private final int size;
+    private final int winLength;
+    private final int numSquares;
+
+    // counts, guarded by this
+    private final long[] results;  // results[startingPlayer * 3 + result]
+    private final long[] openings;  // openings[square * 3 + outcome for the player who opened there]
+    private final long[] lengths;  // lengths[numMoves]
+    private final long[] marks;  // marks[player * numSquares + square]
+    private long games;
+
+    // the game in progress when listening to a model, guarded by this
+    private final int[] moves;
+    private int numMoves;
+    private int startingPlayer;
+    private int countedResult = TicTacToeBoard.NONE;  // the result it was counted with when it ended
+
+    // outcomes of a game for one player, indexing openings
+    private static final int WON = 0;
+    private static final int LOST = 1;
+    private static final int TIED = 2;
+
+    /**
+     * Creates empty statistics for a board.
+     *
+     * @param size The number of rows and columns.
+     * @param winLength The number of marks in a row needed to win.
+     */
+    public TicTacToeAnalytics(int size, int winLength) {
+        this.size = size;
+        this.winLength = winLength;
+        numSquares = size * size;
+        results = new long[2 * 3];
+        openings = new long[numSquares * 3];
+        lengths = new long[numSquares + 1];
+        marks = new long[2 * numSquares];
+        moves = new int[numSquares];
+    }
+
+    /**
+     * Adds a finished game.
+     *
+     * @param result X, O or TIE, as in TicTacToeBoard.
+     * @param startingPlayer X or O.
+     * @param moves The squares played, in order; the players alternate from startingPlayer.
+     * @param numMoves The number of moves.
+     */
+    public synchronized void addGame(int result, int startingPlayer, int[] moves, int numMoves) {
+        count(result, startingPlayer, moves, numMoves, 1);
+    }
+
+    /**
+     * Adds a finished game to every count, or takes it away.  The caller holds the lock.
+     *
+     * @param result X, O or TIE, as in TicTacToeBoard.
+     * @param startingPlayer X or O.
+     * @param moves The squares played, in order.
+     * @param numMoves The number of moves.
+     * @param change 1 to add the game, -1 to take it away.
+     */
+    private void count(int result, int startingPlayer, int[] moves, int numMoves, int change) {
+        games += change;
+        results[startingPlayer * 3 + result] += change;
+        lengths[numMoves] += change;
+        if (numMoves > 0) {
+            int outcome = result == TicTacToeBoard.TIE ? TIED : result == startingPlayer ? WON : LOST;
+            openings[moves[0] * 3 + outcome] += change;
+        }
+        int player = startingPlayer;
+        for (int i = 0; i < numMoves; i++) {
+            marks[player * numSquares + moves[i]] += change;
+            player ^= 1;
+        }
+    }
+
+    /**
+     * Adds another aggregate's counts to this one.
+     *
+     * @param other Statistics of the same board; not changed.
+     */
+    public void merge(TicTacToeAnalytics other) {
+        if (other.size != size || other.winLength != winLength) {
+            throw new IllegalArgumentException("statistics of different boards can't be merged");
+        }
+        TicTacToeAnalytics copy = other.snapshot();  // never hold both locks
+        synchronized (this) {
+            add(results, copy.results);
+            add(openings, copy.openings);
+            add(lengths, copy.lengths);
+            add(marks, copy.marks);
+            games += copy.games;
+        }
+    }
+
+    /**
+     * Adds one array of counts to another of the same length.
+     *
+     * @param to The counts added to.
+     * @param from The counts to add.
+     */
+    private static void add(long[] to, long[] from) {
+        for (int i = 0; i < to.length; i++) to[i] += from[i];
+    }
+
+    /**
+     * Returns a copy of the statistics so far, which later games don't change.
+     *
+     * @return The copy.
+     */
+    public synchronized TicTacToeAnalytics snapshot() {
+        TicTacToeAnalytics copy = new TicTacToeAnalytics(size, winLength);
+        System.arraycopy(results, 0, copy.results, 0, results.length);
+        System.arraycopy(openings, 0, copy.openings, 0, openings.length);
+        System.arraycopy(lengths, 0, copy.lengths, 0, lengths.length);
+        System.arraycopy(marks, 0, copy.marks, 0, marks.length);
+        copy.games = games;
+        return copy;
+    }
+
+    /**
+     * Forgets every game added.
+     */
+    public synchronized void reset() {
+        Arrays.fill(results, 0);
+        Arrays.fill(openings, 0);
+        Arrays.fill(lengths, 0);
+        Arrays.fill(marks, 0);
+        games = 0;
+    }
+
+    /**
+     * Returns the number of games added.
+     *
+     * @return The number of games.
+     */
+    public synchronized long getGames() {
+        return games;
+    }
+
+    /**
+     * Returns the number of games with a result when a player started.
+     *
+     * @param startingPlayer X or O.
+     * @param result X, O or TIE.
+     * @return The number of games.
+     */
+    public synchronized long getResults(int startingPlayer, int result) {
+        return results[startingPlayer * 3 + result];
+    }
+
+    /**
+     * Returns the number of games that lasted a number of moves.
+     *
+     * @param numMoves The number of moves.
+     * @return The number of games.
+     */
+    public synchronized long getLengthCount(int numMoves) {
+        return lengths[numMoves];
+    }
+
+    /**
+     * Returns how often a player marked a square.
+     *
+     * @param player X or O.
+     * @param square The square index (row * size + col).
+     * @return The number of games in which the player marked the square.
+     */
+    public synchronized long getMarks(int player, int square) {
+        return marks[player * numSquares + square];
+    }
+
+    /**
+     * Returns the statistics as text.
+     *
+     * @return Several lines, ending with a line separator.
+     */
+    public synchronized String getReport() {
+        StringBuilder text = new StringBuilder(String.format("analytics of %d games of %dx%d, %d in a row%n",
+                games, size, size, winLength));
+        if (games == 0) return text.toString();
+
+        for (int starter = TicTacToeBoard.X; starter <= TicTacToeBoard.O; starter++) {
+            long started = results[starter * 3] + results[starter * 3 + 1] + results[starter * 3 + 2];
+            if (started == 0) continue;
+            text.append(String.format("  %s starts   %d games: X wins %.1f%%, O wins %.1f%%, ties %.1f%%%n",
+                    starter == TicTacToeBoard.X ? "X" : "O", started,
+                    percent(results[starter * 3 + TicTacToeBoard.X], started),
+                    percent(results[starter * 3 + TicTacToeBoard.O], started),
+                    percent(results[starter * 3 + TicTacToeBoard.TIE], started)));
+        }
+
+        // the most played openings, with the results for the player who opened
+        text.append("  openings   square: games, opener wins/loses/ties\n");
+        boolean[] shown = new boolean[numSquares];
+        for (int n = 0; n < Math.min(MAX_OPENINGS_SHOWN, numSquares); n++) {
+            int best = -1;
+            for (int square = 0; square < numSquares; square++) {
+                if (!shown[square] && (best < 0 || openingGames(square) > openingGames(best))) best = square;
+            }
+            long count = openingGames(best);
+            if (count == 0) break;
+            shown[best] = true;
+            text.append(String.format("    (%d,%d): %d, %.1f%% / %.1f%% / %.1f%%%n", best / size, best % size, count,
+                    percent(openings[best * 3 + WON], count), percent(openings[best * 3 + LOST], count),
+                    percent(openings[best * 3 + TIED], count)));
+        }
+
+        // game lengths: mean, median and the spread
+        long totalMoves = 0;
+        for (int n = 0; n <= numSquares; n++) totalMoves += n * lengths[n];
+        text.append(String.format("  length     mean %.2f, p10 %d, median %d, p90 %d moves%n",
+                (double) totalMoves / games, lengthPercentile(10), lengthPercentile(50), lengthPercentile(90)));
+
+        // heat maps: the percentage of games in which each square was marked
+        if (size <= MAX_HEAT_MAP_SIZE) {
+            for (int player = TicTacToeBoard.X; player <= TicTacToeBoard.O; player++) {
+                text.append("  heat ").append(player == TicTacToeBoard.X ? 'X' : 'O');
+                for (int row = 0; row < size; row++) {
+                    text.append(row == 0 ? "     " : "             ");
+                    for (int col = 0; col < size; col++) {
+                        text.append(String.format(" %5.1f", percent(marks[player * numSquares + row * size + col],
+                                games)));
+                    }
+                    text.append(System.lineSeparator());
+                }
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns the number of games opened on a square.
+     *
+     * @param square The square index.
+     * @return The number of games.
+     */
+    private long openingGames(int square) {
+        return openings[square * 3 + WON] + openings[square * 3 + LOST] + openings[square * 3 + TIED];
+    }
+
+    /**
+     * Returns a percentile of the game lengths.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The smallest length that at least that share of games don't exceed.
+     */
+    private int lengthPercentile(double percentile) {
+        long target = (long) Math.ceil(games * percentile / 100);
+        long seen = 0;
+        for (int n = 0; n <= numSquares; n++) {
+            seen += lengths[n];
+            if (seen >= Math.max(1, target)) return n;
+        }
+        return numSquares;
+    }
+
+    /**
+     * Returns a count as a percentage of a total.
+     *
+     * @param count The count.
+     * @param total The total, more than 0.
+     * @return 100 * count / total.
+     */
+    private static double percent(long count, long total) {
+        return 100.0 * count / total;
+    }
+
+    /**
+     * Prints a snapshot of the statistics to System.err at a fixed rate from a
+     * daemon thread, until the returned executor is shut down.
+     *
+     * @param seconds The time between snapshots.
+     * @return The executor printing the snapshots.
+     */
+    public ScheduledExecutorService printEvery(long seconds) {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "TicTacToe analytics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> System.err.print(getReport()), seconds, seconds, TimeUnit.SECONDS);
+        return reporter;
+    }
+
+    /**
+     * Records a move of the game in progress.
+     */
+    public synchronized void moveApplied(int row, int col, String player) {
+        if (numMoves == 0) {
+            startingPlayer = player == TicTacToeModel.PLAYER_X ? TicTacToeBoard.X : TicTacToeBoard.O;
+        }
+        if (numMoves < moves.length) moves[numMoves++] = row * size + col;
+    }
+
+    /**
+     * Adds the game that just ended.
+     */
+    public synchronized void gameEnded(String winner) {
+        int result = winner == TicTacToeModel.PLAYER_X ? TicTacToeBoard.X
+                : winner == TicTacToeModel.PLAYER_O ? TicTacToeBoard.O : TicTacToeBoard.TIE;
+        count(result, startingPlayer, moves, numMoves, 1);
+        countedResult = result;
+    }
+
+    /**
+     * Forgets a move taken back.  If it had ended the game, the game is taken
+     * out of the counts, so it is only counted once however often it is undone
+     * and replayed.
+     */
+    public synchronized void moveUndone(int row, int col, String player) {
+        if (countedResult != TicTacToeBoard.NONE) {
+            count(countedResult, startingPlayer, moves, numMoves, -1);
+            countedResult = TicTacToeBoard.NONE;
+        }
+        if (numMoves > 0) numMoves--;
+    }
+
+    /**
+     * Forgets the moves of the last game, which stays counted if it ended.
+     */
+    public synchronized void gameReset() {
+        numMoves = 0;
+        countedResult = TicTacToeBoard.NONE;
+    }
+
+    /**
+     * Analyzes the games of a log on several threads.  Each thread reads its
+     * own part of the log with its own reader into its own aggregate, merging
+     * it into the result every MERGE_GAMES games.
+     *
+     * @param path The log.
+     * @param threads The number of threads.
+     * @param result Statistics of the log's board, added to as the log is read.
+     * @throws IOException If the log can't be read.
+     */
+    public static void analyze(Path path, int threads, TicTacToeAnalytics result) throws IOException {
+        long numGames;
+        try (TicTacToeGameLogReader reader = new TicTacToeGameLogReader(path)) {
+            numGames = reader.getNumGames();
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int part = 0; part < threads; part++) {
+                long first = numGames * part / threads;
+                long end = numGames * (part + 1) / threads;
+                tasks.add(pool.submit(() -> analyzePart(path, first, end, result)));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("analysis interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) throw ((UncheckedIOException) e.getCause()).getCause();
+            throw new IllegalStateException("analysis failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Analyzes a range of the games of a log.
+     *
+     * @param path The log.
+     * @param first The index of the first game.
+     * @param end The index after the last game.
+     * @param result The statistics to merge into.
+     */
+    private static void analyzePart(Path path, long first, long end, TicTacToeAnalytics result) {
+        try (TicTacToeGameLogReader reader = new TicTacToeGameLogReader(path)) {
+            if (reader.getSize() != result.size || reader.getWinLength() != result.winLength) {
+                throw new IllegalArgumentException("the log is of another board");
+            }
+            TicTacToeAnalytics part = new TicTacToeAnalytics(result.size, result.winLength);
+            int[] moves = new int[result.numSquares];
+            reader.seek(first);
+            for (long game = first; game < end && reader.next(); game++) {
+                int numMoves = reader.getNumMoves();
+                for (int i = 0; i < numMoves; i++) moves[i] = reader.getMove(i);
+                part.addGame(reader.getResult(), reader.getStartingPlayer(), moves, numMoves);
+                if (part.getGames() == MERGE_GAMES) {
+                    result.merge(part);
+                    part.reset();
+                }
+            }
+            result.merge(part);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Analyzes a log from the command line.
+     *
+     * @param args See the class comment.
+     * @throws IOException If the log can't be read.
+     */
+    public static void main(String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        long interval = 5;
+        Path path = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--interval": interval = Long.parseLong(args[++i]); break;
+                default: path = Path.of(args[i]);
+            }
+        }
+        if (path == null) throw new IllegalArgumentException("no log given");
+
+        TicTacToeAnalytics analytics;
+        try (TicTacToeGameLogReader reader = new TicTacToeGameLogReader(path)) {
+            analytics = new TicTacToeAnalytics(reader.getSize(), reader.getWinLength());
+        }
+        ScheduledExecutorService reporter = interval > 0 ? analytics.printEvery(interval) : null;
+        long start = System.nanoTime();
+        try {
+            analyze(path, threads, analytics);
+        } finally {
+            if (reporter != null) reporter.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(analytics.getReport());
+        System.out.printf("analyzed in %.3f s: %.0f games/s on %d threads%n", seconds,
+                analytics.getGames() / seconds, threads);
+    }
+}
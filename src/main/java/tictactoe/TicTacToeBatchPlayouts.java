@@ -0,0 +1,215 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays random games to the end on many boards at once, for Monte Carlo
+ * evaluation of a position.  The boards are kept as a structure of arrays, one
+ * long per board per player, and every step plays one ply on all of them.
+ *
+ * A step first marks a random empty square on every board still playing.  Each
+ * board keeps its empty squares in its own slice of one byte array and draws
+ * from them like a Fisher-Yates shuffle, so a random move costs O(1).  Then
+ * every board is checked for a win without branches: for each of the 4
+ * directions, a board has K in a row if its mask ANDed with K - 1 copies of
+ * itself shifted along the direction leaves any bit of the squares a line can
+ * start from.  Those are plain loops of shifts and ANDs over long arrays, so
+ * the JIT can compile them to SIMD instructions.  Boards whose game is over keep
+ * their last position: their moves and wins are masked off rather than skipped.
+ *
+ * Only boards of up to MAX_SQUARES squares fit, 8x8 at most.  An engine is not
+ * thread-safe; give each thread its own.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public final class TicTacToeBatchPlayouts {
+    public static final int MAX_SQUARES = 64;
+
+    private final int size;
+    private final int winLength;
+    private final int numSquares;
+    private final int numBoards;
+
+    // the 4 directions: the bit shift of one step, and the squares a whole line can start from
+    private final int[] shift = new int[4];
+    private final long[] starts = new long[4];
+
+    private final long[][] bits;  // bits[player][board]
+    private final byte[] free;  // free[board * numSquares + i]: the squares not yet played, from the current ply on
+    private final long[] playing;  // -1 while the board's game goes on, 0 once it is over
+    private final long[] line;  // scratch: the line starts found in one direction
+    private final long[] won;  // scratch: the line starts found in any direction
+    private final byte[] winner;  // X, O or TIE once the game is over
+    private final byte[] moves = new byte[MAX_SQUARES];  // the empty squares of the position played out
+    private final int[] legalMoves = new int[MAX_SQUARES];
+    private final int[] counts = new int[3];  // indexed by X, O and TIE
+
+    /**
+     * Creates an engine for a board.
+     *
+     * @param size The number of rows and columns; at most MAX_SQUARES squares.
+     * @param winLength The number of marks in a row needed to win.
+     * @param numBoards The number of games played at once.
+     */
+    public TicTacToeBatchPlayouts(int size, int winLength, int numBoards) {
+        new TicTacToeBoard(size, winLength);  // check the size and win length
+        if (size * size > MAX_SQUARES) {
+            throw new IllegalArgumentException("batch playouts are limited to " + MAX_SQUARES + " squares");
+        }
+        if (numBoards < 1) {
+            throw new IllegalArgumentException("a batch needs at least one board");
+        }
+        this.size = size;
+        this.winLength = winLength;
+        this.numSquares = size * size;
+        this.numBoards = numBoards;
+        int[] rowStep = {0, 1, 1, 1};
+        int[] colStep = {1, 0, 1, -1};
+        for (int d = 0; d < 4; d++) {
+            shift[d] = rowStep[d] * size + colStep[d];
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int endRow = row + (winLength - 1) * rowStep[d];
+                    int endCol = col + (winLength - 1) * colStep[d];
+                    if (endRow < size && endCol >= 0 && endCol < size) starts[d] |= 1L << (row * size + col);
+                }
+            }
+        }
+        bits = new long[2][numBoards];
+        free = new byte[numBoards * numSquares];
+        playing = new long[numBoards];
+        line = new long[numBoards];
+        won = new long[numBoards];
+        winner = new byte[numBoards];
+    }
+
+    /**
+     * Plays a random game from a position on every board, and counts the results.
+     *
+     * @param position The position to start from, of this engine's board; not changed.
+     * @param random The random number generator.
+     */
+    public void playOut(TicTacToeBoard position, SplittableRandom random) {
+        if (position.getSize() != size || position.getWinLength() != winLength) {
+            throw new IllegalArgumentException("the position is of another board");
+        }
+        int numFree = position.getLegalMoves(legalMoves);
+        for (int i = 0; i < numFree; i++) moves[i] = (byte) legalMoves[i];
+        long startX = position.getBits(TicTacToeBoard.X);
+        long startO = position.getBits(TicTacToeBoard.O);
+        int result = position.getWinner() == TicTacToeBoard.NONE ? TicTacToeBoard.TIE : position.getWinner();
+        for (int board = 0; board < numBoards; board++) {
+            bits[TicTacToeBoard.X][board] = startX;
+            bits[TicTacToeBoard.O][board] = startO;
+            playing[board] = numFree > 0 ? -1 : 0;
+            winner[board] = (byte) result;
+            System.arraycopy(moves, 0, free, board * numSquares, numFree);
+        }
+
+        int firstPlayer = position.getPlayer();
+        int numPlaying = numFree > 0 ? numBoards : 0;
+        for (int ply = 0; ply < numFree && numPlaying > 0; ply++) {
+            int player = firstPlayer ^ (ply & 1);
+            long[] mine = bits[player];
+            playRandomMoves(mine, ply, numFree - ply, random);
+            // the player can't have K in a row before their K-th mark
+            if (Long.bitCount(position.getBits(player)) + (ply >> 1) + 1 >= winLength) {
+                findLines(mine);
+                numPlaying = endWonGames(player);
+            }
+        }
+
+        counts[TicTacToeBoard.X] = 0;
+        counts[TicTacToeBoard.O] = 0;
+        counts[TicTacToeBoard.TIE] = 0;
+        for (int board = 0; board < numBoards; board++) {
+            counts[winner[board]]++;
+        }
+    }
+
+    /**
+     * Marks a random empty square on every board still playing.
+     *
+     * @param mine The squares of the player to move on every board.
+     * @param ply The number of moves played since the start position.
+     * @param numFree The number of empty squares on each board still playing.
+     * @param random The random number generator.
+     */
+    private void playRandomMoves(long[] mine, int ply, int numFree, SplittableRandom random) {
+        for (int board = 0, first = ply; board < numBoards; board++, first += numSquares) {
+            // a random index below numFree from the high bits of a product, without division
+            int pick = first + (int) (((random.nextInt() & 0xffffffffL) * numFree) >>> 32);
+            byte square = free[pick];
+            free[pick] = free[first];
+            free[first] = square;
+            mine[board] |= (1L << square) & playing[board];
+        }
+    }
+
+    /**
+     * Finds the lines of winLength marks on every board.
+     *
+     * @param mine The squares of one player on every board.
+     */
+    private void findLines(long[] mine) {
+        for (int board = 0; board < numBoards; board++) won[board] = 0;
+        for (int d = 0; d < 4; d++) {
+            long lineStarts = starts[d];
+            if (lineStarts == 0) continue;
+            for (int board = 0; board < numBoards; board++) line[board] = mine[board] & lineStarts;
+            for (int step = 1, bitShift = shift[d]; step < winLength; step++, bitShift += shift[d]) {
+                for (int board = 0; board < numBoards; board++) line[board] &= mine[board] >>> bitShift;
+            }
+            for (int board = 0; board < numBoards; board++) won[board] |= line[board];
+        }
+    }
+
+    /**
+     * Ends the game on every board still playing where a line was found.
+     *
+     * @param player The player who just moved.
+     * @return The number of boards still playing.
+     */
+    private int endWonGames(int player) {
+        int numPlaying = 0;
+        for (int board = 0; board < numBoards; board++) {
+            long lines = won[board] & playing[board];
+            long ended = (lines | -lines) >> 63;  // -1 if any line, else 0
+            winner[board] = (byte) ((winner[board] & ~ended) | (player & ended));
+            playing[board] &= ~ended;
+            numPlaying += (int) (playing[board] & 1);
+        }
+        return numPlaying;
+    }
+
+    /**
+     * Returns how many games of the last playOut had a result.
+     *
+     * @param result X, O or TIE.
+     * @return The number of boards with that result.
+     */
+    public int getCount(int result) {
+        return counts[result];
+    }
+
+    /**
+     * Returns the result of the last playOut on one board.
+     *
+     * @param board The board, from 0 to getNumBoards() - 1.
+     * @return X, O or TIE.
+     */
+    public int getWinner(int board) {
+        return winner[board];
+    }
+
+    /**
+     * Returns the number of games played at once.
+     *
+     * @return The number of boards.
+     */
+    public int getNumBoards() {
+        return numBoards;
+    }
+}
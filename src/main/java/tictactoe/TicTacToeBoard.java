@@ -0,0 +1,608 @@
+package tictactoe;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The primitive core of a tic-tac-toe game on an N x N board, where K marks in a
+ * row (horizontally, vertically or diagonally) win.  The position is kept as one
+ * bitset per player, where bit (row * size + col) is set if that player has
+ * marked the square.
+ *
+ * Only lines through the square that was just marked are checked for a win, so
+ * the cost of a move is O(K) whatever the size of the board.  Boards of up to 64
+ * squares fit in one long per player and are checked with a single AND against
+ * each precomputed line through the square; larger boards are checked by
+ * counting marks outward from the square in each of the 4 directions.
+ *
+ * Every position also has a Zobrist hash, the XOR of a random key for each
+ * (player, square) mark and a key for O to move, updated by one XOR per move.
+ * The canonical hash, the smallest hash of the position's 8 rotations and
+ * reflections, is the same for a position and all its symmetric images.  After
+ * setSymmetryHashing(true) the hashes of all 8 images are kept up to date with
+ * one XOR each per move, so the canonical hash costs O(1) per move; otherwise it
+ * is computed from the marks when asked for, and moves pay only for the plain
+ * hash.  Keys come from a fixed seed, so hashes are the same from run to run.
+ *
+ * Note: This class knows nothing about Strings or observers, so it can be used
+ * directly when playing large numbers of games.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public final class TicTacToeBoard {
+    public static final int X = 0;  // player using "X"
+    public static final int O = 1;  // player using "O"
+    public static final int NONE = -1;  // empty square, or no winner yet
+    public static final int TIE = 2;  // game ended in a tie
+
+    public static final int MIN_SIZE = 1;
+    public static final int MAX_SIZE = 64;
+
+    // row and column steps for the 4 directions: across, down, and both diagonals
+    private static final int[] DIRECTION_ROW = {0, 1, 1, 1};
+    private static final int[] DIRECTION_COL = {1, 0, 1, -1};
+
+    public static final int NUM_SYMMETRIES = 8;  // the 4 rotations, each with and without a reflection
+
+    // win lines shared by every board of the same size and win length, keyed by size * 256 + winLength
+    private static final Map<Integer, long[][]> WIN_LINES = new ConcurrentHashMap<>();
+
+    // Zobrist keys shared by every board of the same size, keyed by size
+    private static final Map<Integer, long[]> ZOBRIST_KEYS = new ConcurrentHashMap<>();
+    private static final long ZOBRIST_SEED = 0x5454545a4f42L;
+    private static final long SIDE_KEY = 0x9e3779b97f4a7c15L;  // XORed in while O is to move
+
+    private final int size;  // number of rows and columns
+    private final int winLength;  // marks in a row needed to win
+    private final int numSquares;
+    // lines[square] = winning lines through the square, single-word boards only; shared
+    private final long[][] lines;
+    // keys[(square * 2 + player) * NUM_SYMMETRIES + s] = key of the mark under symmetry s; shared
+    private final long[] keys;
+
+    private final long[][] bits;  // bits[X] and bits[O], one bit per square
+    private int player;  // player to move (X or O)
+    private int startingPlayer;  // the player that starts each game
+    private int winner;  // X, O, TIE, or NONE while the game is in progress
+    private int numFreeSquares;
+    private long hash;  // Zobrist hash of the position
+    private long[] imageHashes;  // imageHashes[s] = hash of the image under symmetry s, or null if not kept
+
+    /**
+     * Constructs an empty 3x3 board where 3 in a row wins, with X to move.
+     */
+    public TicTacToeBoard() {
+        this(3, 3);
+    }
+
+    /**
+     * Constructs an empty board with X to move.
+     *
+     * @param size The number of rows and columns, from MIN_SIZE to MAX_SIZE.
+     * @param winLength The number of marks in a row needed to win, from 1 to size.
+     */
+    public TicTacToeBoard(int size, int winLength) {
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("board size must be between " + MIN_SIZE + " and " + MAX_SIZE);
+        }
+        if (winLength < 1 || winLength > size) {
+            throw new IllegalArgumentException("win length must be between 1 and the board size");
+        }
+        this.size = size;
+        this.winLength = winLength;
+        numSquares = size * size;
+        bits = new long[2][(numSquares + 63) >>> 6];
+        lines = numSquares <= 64
+                ? WIN_LINES.computeIfAbsent(size * 256 + winLength, key -> winLines(size, winLength)) : null;
+        keys = ZOBRIST_KEYS.computeIfAbsent(size, TicTacToeBoard::zobristKeys);
+        startingPlayer = X;
+        clear();
+    }
+
+    /**
+     * Builds the winning lines through every square of a board that fits in one long.
+     *
+     * @param size The number of rows and columns.
+     * @param winLength The number of marks in a row needed to win.
+     * @return For each square, the masks of every K-long line that contains it.
+     */
+    private static long[][] winLines(int size, int winLength) {
+        long[][] result = new long[size * size][];
+        long[] found = new long[4 * winLength];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int count = 0;
+                for (int d = 0; d < 4; d++) {
+                    // each line starts between winLength - 1 steps behind the square and the square itself
+                    for (int back = 0; back < winLength; back++) {
+                        int startRow = row - back * DIRECTION_ROW[d];
+                        int startCol = col - back * DIRECTION_COL[d];
+                        int endRow = startRow + (winLength - 1) * DIRECTION_ROW[d];
+                        int endCol = startCol + (winLength - 1) * DIRECTION_COL[d];
+                        if (startRow < 0 || startCol < 0 || startCol >= size
+                                || endRow >= size || endCol < 0 || endCol >= size) continue;
+                        long mask = 0;
+                        for (int i = 0; i < winLength; i++) {
+                            mask |= 1L << ((startRow + i * DIRECTION_ROW[d]) * size + startCol + i * DIRECTION_COL[d]);
+                        }
+                        found[count++] = mask;
+                    }
+                    if (winLength == 1) break;  // a single square is the same line in every direction
+                }
+                result[row * size + col] = Arrays.copyOf(found, count);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds the Zobrist keys of every mark on a board under every symmetry.
+     * The key of a mark under a symmetry is the plain key of the mark on the
+     * square the symmetry moves it to.
+     *
+     * @param size The number of rows and columns.
+     * @return The keys, indexed (square * 2 + player) * NUM_SYMMETRIES + symmetry.
+     */
+    private static long[] zobristKeys(int size) {
+        int numSquares = size * size;
+        SplittableRandom random = new SplittableRandom(ZOBRIST_SEED + size);
+        long[] plain = new long[2 * numSquares];
+        for (int i = 0; i < plain.length; i++) plain[i] = random.nextLong();
+        long[] result = new long[2 * numSquares * NUM_SYMMETRIES];
+        for (int square = 0; square < numSquares; square++) {
+            for (int s = 0; s < NUM_SYMMETRIES; s++) {
+                int image = transform(s, square, size);
+                for (int player = X; player <= O; player++) {
+                    result[(square * 2 + player) * NUM_SYMMETRIES + s] = plain[image * 2 + player];
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns where a symmetry of the board moves a square: s & 3 quarter turns,
+     * then a reflection if s >= 4.  Symmetry 0 leaves every square in place.
+     *
+     * @param s The symmetry, from 0 to NUM_SYMMETRIES - 1.
+     * @param square The square index (row * size + col).
+     * @param size The number of rows and columns.
+     * @return The index of the square's image.
+     */
+    public static int transform(int s, int square, int size) {
+        int row = square / size;
+        int col = square % size;
+        for (int turn = 0; turn < (s & 3); turn++) {
+            int t = row;
+            row = col;
+            col = size - 1 - t;
+        }
+        if (s >= 4) col = size - 1 - col;
+        return row * size + col;
+    }
+
+    /**
+     * Returns the symmetry that undoes another: the opposite turn for a rotation,
+     * and the symmetry itself for a reflection.
+     *
+     * @param s The symmetry, from 0 to NUM_SYMMETRIES - 1.
+     * @return The inverse symmetry.
+     */
+    public static int inverse(int s) {
+        return s >= 4 ? s : (4 - s) & 3;
+    }
+
+    /**
+     * Marks every square as empty and gives the move to the starting player.
+     */
+    public void clear() {
+        Arrays.fill(bits[X], 0);
+        Arrays.fill(bits[O], 0);
+        player = startingPlayer;
+        winner = NONE;
+        numFreeSquares = numSquares;
+        hash = player == O ? SIDE_KEY : 0;
+        if (imageHashes != null) Arrays.fill(imageHashes, hash);
+    }
+
+    /**
+     * Sets the player that starts the next game.  Takes effect on the next clear().
+     *
+     * @param player X or O.
+     */
+    public void setStartingPlayer(int player) {
+        startingPlayer = player;
+    }
+
+    /**
+     * Returns the player that starts each game.
+     *
+     * @return X or O.
+     */
+    public int getStartingPlayer() {
+        return startingPlayer;
+    }
+
+    /**
+     * Returns true if the given square can be marked: it is on the board, it is
+     * empty and the game is not over.
+     *
+     * @param square The square index (row * size + col).
+     * @return true if the square can be played.
+     */
+    public boolean isLegal(int square) {
+        return square >= 0 && square < numSquares && winner == NONE && isEmpty(square);
+    }
+
+    /**
+     * Marks a square for the player to move, updates the winner and passes the
+     * move to the other player.  The caller must check isLegal first.
+     *
+     * @param square The square index (row * size + col).
+     * @return The winner after the move: X, O, TIE, or NONE.
+     */
+    public int play(int square) {
+        long[] mine = bits[player];
+        mine[square >>> 6] |= 1L << square;
+        numFreeSquares--;
+        toggleHashes(square, player);
+        // the player can't have K in a row before their K-th mark
+        if (numSquares - numFreeSquares >= 2 * winLength - 1 && isWin(mine, square)) {
+            winner = player;
+        } else if (numFreeSquares == 0) {
+            winner = TIE;
+        }
+        player ^= 1;
+        return winner;
+    }
+
+    /**
+     * Takes back the last move, which marked the given square: clears it, gives
+     * the move back to the player who made it and reopens the game.  Moves must
+     * be taken back in the reverse order they were played.
+     *
+     * @param square The square marked by the last move.
+     */
+    public void undo(int square) {
+        player ^= 1;
+        bits[player][square >>> 6] &= ~(1L << square);
+        numFreeSquares++;
+        toggleHashes(square, player);
+        winner = NONE;  // only the last move can have ended the game
+    }
+
+    /**
+     * Adds or removes a player's mark on a square in the hashes, and passes the
+     * move in the hashes to the other player.
+     *
+     * @param square The square index (row * size + col).
+     * @param player The player who marks or marked the square.
+     */
+    private void toggleHashes(int square, int player) {
+        int base = (square * 2 + player) * NUM_SYMMETRIES;
+        hash ^= keys[base] ^ SIDE_KEY;
+        long[] images = imageHashes;
+        if (images != null) {
+            for (int s = 0; s < NUM_SYMMETRIES; s++) {
+                images[s] ^= keys[base + s] ^ SIDE_KEY;
+            }
+        }
+    }
+
+    /**
+     * Starts or stops keeping the hashes of the position's 8 images up to date
+     * on every move, which makes getCanonicalHash() O(1) and each move a few
+     * nanoseconds slower.
+     *
+     * @param enabled true to keep the hashes of the images.
+     */
+    public void setSymmetryHashing(boolean enabled) {
+        if (!enabled) {
+            imageHashes = null;
+        } else if (imageHashes == null) {
+            long[] images = new long[NUM_SYMMETRIES];
+            computeImageHashes(images);
+            imageHashes = images;
+        }
+    }
+
+    /**
+     * Computes the hashes of the position's 8 images from its marks.
+     *
+     * @param images Filled with the hash of the image under each symmetry.
+     */
+    private void computeImageHashes(long[] images) {
+        Arrays.fill(images, player == O ? SIDE_KEY : 0);
+        for (int p = X; p <= O; p++) {
+            for (int word = 0; word < bits[p].length; word++) {
+                for (long marks = bits[p][word]; marks != 0; marks &= marks - 1) {
+                    int base = (((word << 6) + Long.numberOfTrailingZeros(marks)) * 2 + p) * NUM_SYMMETRIES;
+                    for (int s = 0; s < NUM_SYMMETRIES; s++) {
+                        images[s] ^= keys[base + s];
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the hashes of the position's 8 images.
+     *
+     * @return The kept hashes, or ones computed from the marks if they aren't kept.
+     */
+    private long[] imageHashes() {
+        if (imageHashes != null) return imageHashes;
+        long[] images = new long[NUM_SYMMETRIES];
+        computeImageHashes(images);
+        return images;
+    }
+
+    /**
+     * Makes this board a copy of another board of the same size and win length.
+     *
+     * @param other The board to copy.
+     */
+    public void copyFrom(TicTacToeBoard other) {
+        if (other.size != size || other.winLength != winLength) {
+            throw new IllegalArgumentException("boards differ in size or win length");
+        }
+        System.arraycopy(other.bits[X], 0, bits[X], 0, bits[X].length);
+        System.arraycopy(other.bits[O], 0, bits[O], 0, bits[O].length);
+        player = other.player;
+        startingPlayer = other.startingPlayer;
+        winner = other.winner;
+        numFreeSquares = other.numFreeSquares;
+        hash = other.hash;
+        if (imageHashes != null) {
+            if (other.imageHashes != null) {
+                System.arraycopy(other.imageHashes, 0, imageHashes, 0, NUM_SYMMETRIES);
+            } else {
+                computeImageHashes(imageHashes);
+            }
+        }
+    }
+
+    /**
+     * Lists the squares that can be marked.
+     *
+     * @param moves Filled with the legal squares in increasing order; needs room
+     *              for getNumFreeSquares() of them.
+     * @return The number of legal squares, 0 once the game is over.
+     */
+    public int getLegalMoves(int[] moves) {
+        if (winner != NONE) return 0;
+        int count = 0;
+        for (int word = 0; word < bits[X].length; word++) {
+            long free = ~(bits[X][word] | bits[O][word]);
+            if (word == bits[X].length - 1 && (numSquares & 63) != 0) free &= (1L << numSquares) - 1;
+            while (free != 0) {
+                moves[count++] = (word << 6) + Long.numberOfTrailingZeros(free);
+                free &= free - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if the given player bitset contains K in a row through the
+     * given square, counting the square as marked whether or not it is set.
+     *
+     * @param mine The squares marked by one player.
+     * @param square The square that was just marked.
+     * @return true if the bitset wins.
+     */
+    private boolean isWin(long[] mine, int square) {
+        if (lines != null) {
+            long mask = mine[0] | (1L << square);
+            for (long line : lines[square]) {
+                if ((mask & line) == line) return true;
+            }
+            return false;
+        }
+        int row = square / size;
+        int col = square % size;
+        for (int d = 0; d < 4; d++) {
+            int count = 1
+                    + countFrom(mine, row, col, DIRECTION_ROW[d], DIRECTION_COL[d])
+                    + countFrom(mine, row, col, -DIRECTION_ROW[d], -DIRECTION_COL[d]);
+            if (count >= winLength) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if marking an empty square would give the player K in a row.
+     * The board is not changed.
+     *
+     * @param player X or O.
+     * @param square The square index (row * size + col).
+     * @return true if the move would win.
+     */
+    public boolean isWinningMove(int player, int square) {
+        return isWin(bits[player], square);
+    }
+
+    /**
+     * Counts the consecutive marks after a square in one direction, stopping at
+     * winLength - 1 since no more are needed to decide a win.
+     *
+     * @param mine The squares marked by one player.
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @param rowStep The row step of the direction.
+     * @param colStep The column step of the direction.
+     * @return The number of consecutive marks, not counting the square itself.
+     */
+    private int countFrom(long[] mine, int row, int col, int rowStep, int colStep) {
+        int count = 0;
+        row += rowStep;
+        col += colStep;
+        while (count < winLength - 1 && row >= 0 && row < size && col >= 0 && col < size) {
+            int square = row * size + col;
+            if ((mine[square >>> 6] & (1L << square)) == 0) break;
+            count++;
+            row += rowStep;
+            col += colStep;
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if a single-word player mask contains a complete line through
+     * the given square.  Only valid on boards of at most 64 squares.
+     *
+     * @param mask The squares marked by one player.
+     * @param square The square that was just marked.
+     * @return true if the mask wins.
+     */
+    public boolean isWin(long mask, int square) {
+        for (long line : lines[square]) {
+            if ((mask & line) == line) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if a square is empty.
+     *
+     * @param square The square index (row * size + col).
+     * @return true if neither player has marked the square.
+     */
+    public boolean isEmpty(int square) {
+        int word = square >>> 6;
+        return ((bits[X][word] | bits[O][word]) & (1L << square)) == 0;
+    }
+
+    /**
+     * Returns the mark at a square.
+     *
+     * @param square The square index (row * size + col).
+     * @return X, O, or NONE if the square is empty.
+     */
+    public int getMark(int square) {
+        int word = square >>> 6;
+        long bit = 1L << square;
+        if ((bits[X][word] & bit) != 0) return X;
+        if ((bits[O][word] & bit) != 0) return O;
+        return NONE;
+    }
+
+    /**
+     * Returns the squares marked by a player on a board of at most 64 squares.
+     *
+     * @param player X or O.
+     * @return A mask with bit (row * size + col) set for every square the player marked.
+     */
+    public long getBits(int player) {
+        return bits[player][0];
+    }
+
+    /**
+     * Returns the number of rows and columns.
+     *
+     * @return The board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of marks in a row needed to win.
+     *
+     * @return The win length.
+     */
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Returns the number of squares on the board.
+     *
+     * @return size * size.
+     */
+    public int getNumSquares() {
+        return numSquares;
+    }
+
+    /**
+     * Returns the player to move.
+     *
+     * @return X or O.
+     */
+    public int getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the winner.
+     *
+     * @return X, O, TIE, or NONE while the game is in progress.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns the Zobrist hash of the position: the marks and the player to move.
+     *
+     * @return The hash.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the Zobrist hash of the position's image under a symmetry.
+     *
+     * @param s The symmetry, from 0 to NUM_SYMMETRIES - 1, as in transform().
+     * @return The hash of the position with every mark moved by the symmetry.
+     */
+    public long getHash(int s) {
+        return s == 0 ? hash : imageHashes()[s];
+    }
+
+    /**
+     * Returns a hash shared by the position and its 7 rotations and reflections:
+     * the smallest of their Zobrist hashes.  Without setSymmetryHashing(true) the
+     * hashes are computed from the marks, in time proportional to their number.
+     *
+     * @return The canonical hash.
+     */
+    public long getCanonicalHash() {
+        long[] images = imageHashes();
+        long min = images[0];
+        for (int s = 1; s < NUM_SYMMETRIES; s++) {
+            min = Math.min(min, images[s]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns a symmetry that takes the position to its canonical image, the one
+     * whose hash is getCanonicalHash().  Moves found for the canonical image can
+     * be mapped back with the inverse of this symmetry.
+     *
+     * @return The symmetry, from 0 to NUM_SYMMETRIES - 1, as in transform().
+     */
+    public int getCanonicalSymmetry() {
+        long[] images = imageHashes();
+        int best = 0;
+        for (int s = 1; s < NUM_SYMMETRIES; s++) {
+            if (images[s] < images[best]) best = s;
+        }
+        return best;
+    }
+
+    /**
+     * Returns the number of empty squares.
+     *
+     * @return The number of empty squares.
+     */
+    public int getNumFreeSquares() {
+        return numFreeSquares;
+    }
+}
@@ -0,0 +1,178 @@
+package tictactoe;
+
+import java.util.Arrays;
+
+import javax.swing.Timer;
+
+/**
+ * A listener that collects a model's events and passes them on to another
+ * listener in one batch per frame, so a slow listener (a monitor, or a view
+ * during a fast replay) never holds up the game loop.
+ *
+ * Events are coalesced when a batch is flushed: a reset drops every event
+ * before it, every move since the last reset is kept in order, a move taken
+ * back before it was passed on is dropped, and only the latest score and
+ * starting player are passed on.  Events may arrive on any thread; the batch
+ * is delivered on the thread that calls flush().
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeCoalescingListener implements TicTacToeListener {
+    public static final int FRAME_MILLIS = 16;  // about 60 frames per second
+
+    private static final int UNDONE = 2;  // added to the kind of a move taken back; 0 is X, 1 is O
+
+    private final TicTacToeListener delegate;
+
+    // pending events, guarded by this
+    private boolean reset;  // the board was cleared
+    private int[] moves = new int[3 * 16];  // row, col and kind of each move
+    private int numMoves;
+    private String winner;  // winner of the game, or null if it didn't end
+    private boolean scoreChanged;
+    private int numWinsX;
+    private int numWinsO;
+    private String startingPlayer;  // the latest starting player, or null if it didn't change
+
+    // the batch being delivered, only touched by the flushing thread
+    private int[] batch = new int[moves.length];
+
+    private Timer timer;
+
+    /**
+     * Creates a listener that passes events on when flush() is called.
+     *
+     * @param delegate The listener that receives the coalesced events.
+     */
+    public TicTacToeCoalescingListener(TicTacToeListener delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Starts flushing once per frame on the Swing event thread.
+     */
+    public void start() {
+        if (timer == null) {
+            timer = new Timer(FRAME_MILLIS, e -> flush());
+            timer.setCoalesce(true);
+        }
+        timer.start();
+    }
+
+    /**
+     * Stops flushing once per frame.  Pending events wait for the next flush().
+     */
+    public void stop() {
+        if (timer != null) timer.stop();
+    }
+
+    /**
+     * Passes the events received since the last flush on to the delegate.
+     */
+    public void flush() {
+        boolean flushReset;
+        int flushMoves;
+        String flushWinner;
+        boolean flushScore;
+        int flushWinsX;
+        int flushWinsO;
+        String flushStartingPlayer;
+        synchronized (this) {
+            flushReset = reset;
+            flushMoves = numMoves;
+            flushWinner = winner;
+            flushScore = scoreChanged;
+            flushWinsX = numWinsX;
+            flushWinsO = numWinsO;
+            flushStartingPlayer = startingPlayer;
+            if (batch.length < moves.length) batch = new int[moves.length];
+            System.arraycopy(moves, 0, batch, 0, 3 * numMoves);
+            reset = false;
+            numMoves = 0;
+            winner = null;
+            scoreChanged = false;
+            startingPlayer = null;
+        }
+        if (flushReset) delegate.gameReset();
+        for (int i = 0; i < 3 * flushMoves; i += 3) {
+            String player = batch[i + 2] % UNDONE == 0 ? TicTacToeModel.PLAYER_X : TicTacToeModel.PLAYER_O;
+            if (batch[i + 2] >= UNDONE) {
+                delegate.moveUndone(batch[i], batch[i + 1], player);
+            } else {
+                delegate.moveApplied(batch[i], batch[i + 1], player);
+            }
+        }
+        if (flushWinner != null) delegate.gameEnded(flushWinner);
+        if (flushScore) delegate.scoreChanged(flushWinsX, flushWinsO);
+        if (flushStartingPlayer != null) delegate.startingPlayerChanged(flushStartingPlayer);
+    }
+
+    /**
+     * Queues a move.
+     */
+    public synchronized void moveApplied(int row, int col, String player) {
+        queue(row, col, player == TicTacToeModel.PLAYER_X ? 0 : 1);
+    }
+
+    /**
+     * Drops the move if it is still queued, and queues taking it back otherwise.
+     */
+    public synchronized void moveUndone(int row, int col, String player) {
+        winner = null;
+        int last = 3 * (numMoves - 1);
+        if (numMoves > 0 && moves[last] == row && moves[last + 1] == col && moves[last + 2] < UNDONE) {
+            numMoves--;
+        } else {
+            queue(row, col, UNDONE + (player == TicTacToeModel.PLAYER_X ? 0 : 1));
+        }
+    }
+
+    /**
+     * Adds a move to the batch.  The caller holds the lock.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @param kind 0 for X, 1 for O, plus UNDONE if the move was taken back.
+     */
+    private void queue(int row, int col, int kind) {
+        if (3 * numMoves == moves.length) moves = Arrays.copyOf(moves, 2 * moves.length);
+        moves[3 * numMoves] = row;
+        moves[3 * numMoves + 1] = col;
+        moves[3 * numMoves + 2] = kind;
+        numMoves++;
+    }
+
+    /**
+     * Queues the end of the game.
+     */
+    public synchronized void gameEnded(String winner) {
+        this.winner = winner;
+    }
+
+    /**
+     * Queues the latest score, replacing any score not yet passed on.
+     */
+    public synchronized void scoreChanged(int numWinsX, int numWinsO) {
+        scoreChanged = true;
+        this.numWinsX = numWinsX;
+        this.numWinsO = numWinsO;
+    }
+
+    /**
+     * Queues the latest starting player, replacing any not yet passed on.
+     */
+    public synchronized void startingPlayerChanged(String player) {
+        startingPlayer = player;
+    }
+
+    /**
+     * Queues a reset, dropping the moves and game end of the previous game.
+     */
+    public synchronized void gameReset() {
+        reset = true;
+        numMoves = 0;
+        winner = null;
+    }
+}
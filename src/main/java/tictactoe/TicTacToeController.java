@@ -0,0 +1,467 @@
+package tictactoe;
+
+import java.awt.*;
+import javax.swing.*;
+import java.awt.event.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The controller part of the user-interface for the TicTacToe application,
+ * built from the Swing and AWT frameworks.
+ *
+ * In "Play vs. computer" mode the computer plays O with a TicTacToeSearch, or
+ * with whatever strategy setComputer() was given, e.g. a tablebase.  The
+ * search runs on a background thread with a time limit of tictactoe.computer.millis
+ * milliseconds (COMPUTER_MILLIS by default) on a copy of the position, so the
+ * Swing event thread never waits for it; its move is played on the event thread
+ * through invokeLater.  A new game, an undo or a redo cancels a search in
+ * progress, and a move found for a position that has changed since is dropped.
+ *
+ * @author Hubert Dang
+ * @version April 4, 2023
+ */
+
+public class TicTacToeController extends JFrame implements ActionListener, MouseListener {
+    public static final long COMPUTER_MILLIS = 1000;  // the computer's default time per move
+
+    private JButton buttonBoard[][]; // N x N array of buttons on the board
+    private TicTacToeModel model;
+    private JMenuItem newItem;
+    private JMenuItem undoItem;  // for taking back the last move
+    private JMenuItem redoItem;  // for making a move taken back again
+    private JMenuItem quitItem;
+    private JMenuItem resetItem;  // for resetting the players' scores
+    private JMenuItem changeStartingPlayerItem;  // for changing the starting player
+    private JCheckBoxMenuItem computerItem;  // for playing against the computer
+    private JCheckBoxMenuItem muteItem;  // for turning the sounds off and on
+    private final TicTacToeSounds sounds;
+
+    private TicTacToeStrategy computer = new TicTacToeSearch(
+            Long.getLong("tictactoe.computer.millis", COMPUTER_MILLIS), 0);
+    private final SplittableRandom computerRandom = new SplittableRandom();  // only used by the thinker
+    private ExecutorService thinker;  // runs the computer's searches, created when first needed
+    private Future<?> thinking;  // the search in progress, or null
+    private int searchId;  // counts searches, so the moves of cancelled ones can be told apart
+    private Runnable firstPaintAction;  // run after the window is first painted, then cleared
+
+
+    /**
+     * Create new controller for the TicTacToe game.
+     *
+     * @param view The game's view.
+     * @param model The game's model.
+     */
+    public TicTacToeController(TicTacToeView view, TicTacToeModel model) {
+        super("TicTacToe");
+
+        this.setPreferredSize(new Dimension(800, 800));
+        this.model = model;
+        sounds = new TicTacToeSounds();
+        buttonBoard = new JButton[model.getSize()][model.getSize()];
+        populateFrame(view);
+        registerListener();
+        // a restored game may be over already
+        setButtonsEnabled(model.getWinner() == TicTacToeModel.EMPTY);
+    }
+
+
+    /**
+     * Creates a root pane that notices when the window is first painted.
+     *
+     * @return The root pane.
+     */
+    protected JRootPane createRootPane() {
+        JRootPane rootPane = new JRootPane() {
+            public void paint(Graphics g) {
+                super.paint(g);
+                firstPainted();
+            }
+        };
+        rootPane.setOpaque(true);
+        return rootPane;
+    }
+
+
+    /**
+     * Sets an action to run on the Swing event thread once the whole window
+     * has been painted for the first time.
+     *
+     * @param action The action, replacing any action set before.
+     */
+    public void whenFirstPainted(Runnable action) {
+        firstPaintAction = action;
+    }
+
+
+    /**
+     * Runs the first paint action, if it hasn't run yet.
+     */
+    private void firstPainted() {
+        Runnable action = firstPaintAction;
+        if (action != null) {
+            firstPaintAction = null;
+            // after this paint has reached the screen
+            SwingUtilities.invokeLater(action);
+        }
+    }
+
+
+    /**
+     * Sets the strategy the computer plays with.  Must be called on the Swing
+     * event thread.
+     *
+     * @param computer The strategy, which will only be asked to play on this
+     *                 controller's board.
+     */
+    public void setComputer(TicTacToeStrategy computer) {
+        cancelComputerMove();
+        this.computer = computer;
+        startComputerMove();
+    }
+
+
+    /**
+     * Starts decoding the sound effects in the background.  Sounds played
+     * before then are decoded first.
+     */
+    public void loadSounds() {
+        sounds.load();
+    }
+
+
+    /**
+     * Populate the frame with the view.
+     *
+     * @param view The view to populate the frame with.
+     */
+    private void populateFrame(TicTacToeView view) {
+        Container contentPane = this.getContentPane();
+        contentPane.add(view, BorderLayout.SOUTH);
+        // create the N x N grid for the buttons
+        JPanel buttonPanel = new JPanel();
+        buttonPanel.setLayout(new GridLayout(buttonBoard.length, buttonBoard.length));
+        // initialize the buttons
+        for (int i = 0; i < buttonBoard.length; i++) {
+            for (int j = 0; j < buttonBoard.length; j++) {
+                buttonBoard[i][j] = new JButton("");
+                // add buttons to the button panel
+                buttonPanel.add(buttonBoard[i][j]);
+            }
+        }
+        // place buttons on top of the game state
+        contentPane.add(buttonPanel, BorderLayout.CENTER);
+
+        // create a menu and place it above buttons
+        JMenuBar menuBar = new JMenuBar();
+        this.setJMenuBar(menuBar); // add menu bar to the frame
+
+        JMenu fileMenu = new JMenu("Game"); // create a menu
+        fileMenu.addMouseListener(this);
+        fileMenu.setFont(new Font("serif", Font.PLAIN, 24));
+        menuBar.add(fileMenu); // and add to the menu bar
+
+        newItem = new JMenuItem("New game"); // create a menu item called "New"
+        fileMenu.add(newItem); // and add to the menu
+
+        undoItem = new JMenuItem("Undo move");
+        fileMenu.add(undoItem);
+
+        redoItem = new JMenuItem("Redo move");
+        fileMenu.add(redoItem);
+
+        resetItem = new JMenuItem("Reset score");
+        fileMenu.add(resetItem);
+
+        changeStartingPlayerItem = new JMenuItem("Change starting player");
+        fileMenu.add(changeStartingPlayerItem);
+
+        computerItem = new JCheckBoxMenuItem("Play vs. computer");
+        fileMenu.add(computerItem);
+
+        muteItem = new JCheckBoxMenuItem("Mute sound", sounds.isMuted());
+        fileMenu.add(muteItem);
+
+        quitItem = new JMenuItem("Quit"); // create a menu item called "Quit"
+        fileMenu.add(quitItem); // and add to the menu
+
+        final int SHORTCUT_MASK = Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx(); // to save typing
+        newItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_N, SHORTCUT_MASK));
+        undoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Z, SHORTCUT_MASK));
+        redoItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Y, SHORTCUT_MASK));
+        quitItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Q, SHORTCUT_MASK));
+        resetItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_R, SHORTCUT_MASK));
+        changeStartingPlayerItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_C, SHORTCUT_MASK));
+        computerItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_P, SHORTCUT_MASK));
+        muteItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_M, SHORTCUT_MASK));
+    }
+
+
+    /**
+     * Register this frame as the listener for the buttons.
+     */
+    private void registerListener() {
+        for (int i = 0; i < buttonBoard.length; i++) {
+            for (int j = 0; j < buttonBoard.length; j++) {
+                buttonBoard[i][j].addActionListener(this);
+            }
+        }
+        // listen for menu selections
+        newItem.addActionListener(this);
+        undoItem.addActionListener(this);
+        redoItem.addActionListener(this);
+        resetItem.addActionListener(this);
+        changeStartingPlayerItem.addActionListener(this);
+        computerItem.addActionListener(this);
+        muteItem.addActionListener(this);
+        quitItem.addActionListener(new ActionListener() // create an anonymous inner class
+                                   { // start of anonymous subclass of ActionListener
+                                       // this allows us to put the code for this action here
+                                       public void actionPerformed(ActionEvent event) {
+                                           System.exit(0); // quit
+                                       }
+                                   } // end of anonymous subclass
+        ); // end of addActionListener parameter list and statement
+    }
+
+
+    /**
+     * This action listener is called when the user clicks on any
+     * of the GUI's buttons.
+     *
+     * @param e the event to be processed
+     */
+    public void actionPerformed(ActionEvent e) {
+        Object o = e.getSource(); // get the action
+
+        if (o instanceof JButton) {
+            if (isComputersTurn()) return;  // the squares are the computer's to choose
+            JButton button = (JButton) o;
+            for (int i = 0; i < buttonBoard.length; i++) {
+                for (int j = 0; j < buttonBoard.length; j++) {
+                    if (button == buttonBoard[i][j]) {
+                        markSquare(i, j);
+                        break;
+                    }
+                }
+            }
+            startComputerMove();
+        } else { // it's a JMenu item
+            JMenuItem item = (JMenuItem) o;
+
+            if (item == newItem) {
+                cancelComputerMove();
+                // enable all buttons in case user is starting new game after a win
+                setButtonsEnabled(true);
+                model.newGame();
+                startComputerMove();
+            } else if (item == undoItem) {
+                cancelComputerMove();
+                model.unmakeMove();
+                // take back the computer's reply too, so it's the player's turn again
+                if (isComputersTurn() && model.canUndo()) model.unmakeMove();
+                // the buttons are enabled again if the move taken back had ended the game
+                setButtonsEnabled(model.getWinner() == model.EMPTY);
+                startComputerMove();
+            } else if (item == redoItem) {
+                cancelComputerMove();
+                model.redoMove();
+                // and the computer's reply
+                if (isComputersTurn() && model.canRedo()) model.redoMove();
+                setButtonsEnabled(model.getWinner() == model.EMPTY);
+                startComputerMove();
+            } else if (item == resetItem) {
+                model.resetScore();
+            } else if (item == changeStartingPlayerItem) {
+                model.changeStartingPlayer();
+            } else if (item == computerItem) {
+                if (computerItem.isSelected()) {
+                    startComputerMove();
+                } else {
+                    cancelComputerMove();
+                }
+            } else if (item == muteItem) {
+                sounds.setMuted(muteItem.isSelected());
+                muteItem.setSelected(sounds.isMuted());  // stays muted with no audio device
+            }
+        }
+    }
+
+
+    /**
+     * Marks a square for the player to move, with its sound, and ends the game
+     * if the move won or tied it.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     */
+    private void markSquare(int row, int col) {
+        // only make sound if the button wasn't marked
+        if (model.getCurrentPlayer() == TicTacToeModel.PLAYER_X
+                && model.getMark(row, col) == TicTacToeModel.EMPTY) {
+            sounds.play(TicTacToeSounds.Sound.SWORD); // just plays clip once
+            // only make sound if the button wasn't marked
+        } else if (model.getCurrentPlayer() == TicTacToeModel.PLAYER_O
+                && model.getMark(row, col) == TicTacToeModel.EMPTY) {
+            sounds.play(TicTacToeSounds.Sound.SHIELD); // just plays clip once
+        }
+        model.setSquare(row, col);
+        // Disable all buttons when someone has won the game or tied
+        String winner = model.getWinner();
+        if (winner != TicTacToeModel.EMPTY) {
+            if (winner != TicTacToeModel.TIE) {  // only play the winning sound if someone won, not including ties
+                sounds.play(TicTacToeSounds.Sound.WON); // just plays clip once
+            }
+            setButtonsEnabled(false);
+        }
+    }
+
+
+    /**
+     * Returns true if the computer is playing and it is its move.
+     *
+     * @return true if the computer is to move.
+     */
+    private boolean isComputersTurn() {
+        return computerItem.isSelected() && model.getWinner() == TicTacToeModel.EMPTY
+                && model.getCurrentPlayer() == TicTacToeModel.PLAYER_O;
+    }
+
+
+    /**
+     * Starts searching for the computer's move in the background if it is the
+     * computer's turn and it isn't searching already.
+     */
+    private void startComputerMove() {
+        if (!isComputersTurn() || thinking != null) return;
+        if (thinker == null) {
+            thinker = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "TicTacToe computer");
+                thread.setDaemon(true);
+                // leave the event thread the processor on machines with few of them
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            });
+        }
+        TicTacToeBoard core = model.getCore();
+        TicTacToeBoard position = new TicTacToeBoard(core.getSize(), core.getWinLength());
+        position.copyFrom(core);
+        int id = ++searchId;
+        thinking = thinker.submit(() -> {
+            int square = TicTacToeSolver.NO_MOVE;
+            Throwable failure = null;
+            try {
+                square = computer.chooseMove(position, computerRandom);
+            } catch (RuntimeException | Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                // even if the search failed, so that the computer isn't left thinking forever
+                int move = square;
+                Throwable error = failure;
+                SwingUtilities.invokeLater(() -> computerMoved(id, move, error));
+            }
+        });
+    }
+
+
+    /**
+     * Plays the computer's move, unless its search was cancelled, or turns the
+     * computer off if its search failed.  Runs on the Swing event thread.
+     *
+     * @param id The number of the search that found the move.
+     * @param square The square chosen (row * size + col).
+     * @param failure What the search threw, or null if it found a move.
+     */
+    private void computerMoved(int id, int square, Throwable failure) {
+        if (id != searchId) return;
+        thinking = null;
+        if (failure != null) {
+            System.err.println("The computer can't move, so play vs. computer is off: " + failure);
+            computerItem.setSelected(false);
+        } else if (isComputersTurn()) {
+            markSquare(square / model.getSize(), square % model.getSize());
+        }
+    }
+
+
+    /**
+     * Stops the computer's search in progress, if any; its move won't be played.
+     */
+    private void cancelComputerMove() {
+        searchId++;
+        if (thinking != null) {
+            thinking.cancel(true);
+            thinking = null;
+        }
+    }
+
+
+    /**
+     * Enables or disables every button on the board.
+     *
+     * @param enabled true to let the players mark squares.
+     */
+    private void setButtonsEnabled(boolean enabled) {
+        for (int i = 0; i < buttonBoard.length; i++) {
+            for (int j = 0; j < buttonBoard.length; j++) {
+                buttonBoard[i][j].setEnabled(enabled);
+            }
+        }
+    }
+
+
+    /**
+     * Returns a button in the buttonBoard.
+     *
+     * @param row The row of the button.
+     * @param col The column of the button.
+     * @return The button at the specified row and column in the buttonBoard.
+     */
+    public JButton getButton(int row, int col) {
+        return buttonBoard[row][col];
+    }
+
+
+    /**
+     * Detects when the mouse enters the component.  We are only "listening" to the
+     * JMenu.  We highlight the menu name when the mouse goes into that component.
+     *
+     * @param e The mouse event triggered when the mouse was moved into the component
+     */
+    public void mouseEntered(MouseEvent e) {
+        JMenu item = (JMenu) e.getSource();
+        item.setSelected(true); // highlight the menu name
+    }
+
+    /**
+     * Detects when the mouse exits the component.  We are only "listening" to the
+     * JMenu.  We stop highlighting the menu name when the mouse exits  that component.
+     *
+     * @param e The mouse event triggered when the mouse was moved out of the component
+     */
+    public void mouseExited(MouseEvent e) {
+        JMenu item = (JMenu) e.getSource();
+        item.setSelected(false); // stop highlighting the menu name
+    }
+
+
+    // empty implementations of methods in MouseListener interface
+
+    /**
+     * Not used.
+     */
+    public void mouseClicked(MouseEvent e){}
+
+    /**
+     * Not used.
+     */
+    public void mousePressed(MouseEvent e){}
+
+    /**
+     * Not used.
+     */
+    public void mouseReleased(MouseEvent e){}
+}
\ No newline at end of file
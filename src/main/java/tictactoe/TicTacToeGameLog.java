@@ -0,0 +1,251 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An append-only binary log of finished games.
+ *
+ * The file starts with a HEADER_BYTES header: the magic number, the format
+ * version, the board size, the win length and the length of a record.  Every
+ * game then takes one fixed-length record, so game i starts at byte
+ * HEADER_BYTES + i * recordBytes.  A record is a little-endian bit string:
+ * the result (2 bits: X, O or TIE as in TicTacToeBoard), the starting player
+ * (1 bit), the number of moves, and each move's square index, using just
+ * enough bits for the board.  A 3x3 game takes 6 bytes.
+ *
+ * The log is also a TicTacToeListener: registered with a model, it appends
+ * every game the model finishes.  When the move that ended a game is taken
+ * back, the game's record is taken off the end of the log again, as long as
+ * nothing was appended after it, so a game ended, undone and replayed is
+ * logged once.  Appending is thread-safe.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeGameLog implements TicTacToeListener, AutoCloseable {
+    static final int MAGIC = 0x5454544c;  // "TTTL"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    private final int size;
+    private final int moveBits;  // bits per square index
+    private final int countBits;  // bits for the number of moves
+    private final int recordBytes;
+    private final FileChannel channel;
+
+    // the game being recorded from listener events, guarded by this
+    private final int[] moves;
+    private int numMoves;
+    private int startingPlayer;
+    private long loggedAt = -1;  // where its record starts once it has ended and been logged, or -1
+    private final ByteBuffer record;
+
+    /**
+     * Opens a log for appending, creating it if it doesn't exist.
+     *
+     * @param path The log file.
+     * @param size The number of rows and columns of the logged games.
+     * @param winLength The number of marks in a row needed to win.
+     * @throws IOException If the file can't be opened, or holds games of another board.
+     */
+    public TicTacToeGameLog(Path path, int size, int winLength) throws IOException {
+        this.size = size;
+        moveBits = bitsFor(size * size - 1);
+        countBits = bitsFor(size * size);
+        recordBytes = recordBytes(size);
+        moves = new int[size * size];
+        record = ByteBuffer.allocate(recordBytes);
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                channel.write(header(size, winLength, recordBytes), 0);
+            } else {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(header, 0);
+                header.flip();
+                if (!header.equals(header(size, winLength, recordBytes))) {
+                    throw new IOException(path + " is not a log of " + size + "x" + size + " games with "
+                            + winLength + " in a row");
+                }
+            }
+            // drop a partly written record left by a crash
+            long games = (channel.size() - HEADER_BYTES) / recordBytes;
+            channel.truncate(HEADER_BYTES + games * recordBytes);
+            channel.position(channel.size());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the header of a log.
+     *
+     * @param size The board size.
+     * @param winLength The win length.
+     * @param recordBytes The length of a record.
+     * @return The header, ready to be written.
+     */
+    private static ByteBuffer header(int size, int winLength, int recordBytes) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putShort((short) VERSION).put((byte) size).put((byte) winLength).putInt(recordBytes);
+        header.putInt(0);  // reserved
+        return header.flip();
+    }
+
+    /**
+     * Returns the number of bits needed to write the numbers 0 to max.
+     *
+     * @param max The largest number.
+     * @return At least 1.
+     */
+    static int bitsFor(int max) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(max));
+    }
+
+    /**
+     * Returns the length of a record for a board size.
+     *
+     * @param size The number of rows and columns.
+     * @return The record length in bytes.
+     */
+    static int recordBytes(int size) {
+        int numSquares = size * size;
+        int bits = 3 + bitsFor(numSquares) + numSquares * bitsFor(numSquares - 1);
+        return (bits + 7) / 8;
+    }
+
+    /**
+     * Returns the length of one record.
+     *
+     * @return The record length in bytes.
+     */
+    public int getRecordBytes() {
+        return recordBytes;
+    }
+
+    /**
+     * Writes one game's record into a buffer.  Doesn't touch the file, so many
+     * threads can encode at once and append the results as a block.
+     *
+     * @param result X, O or TIE.
+     * @param startingPlayer X or O.
+     * @param moves The squares played, in order.
+     * @param numMoves The number of moves.
+     * @param out The buffer to write to; its position moves past the record.
+     */
+    public void encode(int result, int startingPlayer, int[] moves, int numMoves, ByteBuffer out) {
+        int end = out.position() + recordBytes;
+        long bits = result | (long) startingPlayer << 2 | (long) numMoves << 3;
+        int numBits = 3 + countBits;
+        for (int i = 0; i < numMoves; i++) {
+            bits |= (long) moves[i] << numBits;
+            numBits += moveBits;
+            while (numBits >= 8) {
+                out.put((byte) bits);
+                bits >>>= 8;
+                numBits -= 8;
+            }
+        }
+        while (out.position() < end) {
+            out.put((byte) bits);
+            bits >>>= 8;
+        }
+    }
+
+    /**
+     * Appends one game to the log.
+     *
+     * @param result X, O or TIE.
+     * @param startingPlayer X or O.
+     * @param moves The squares played, in order.
+     * @param numMoves The number of moves.
+     * @throws IOException If the log can't be written.
+     */
+    public synchronized void append(int result, int startingPlayer, int[] moves, int numMoves) throws IOException {
+        record.clear();
+        encode(result, startingPlayer, moves, numMoves, record);
+        write(record.flip());
+    }
+
+    /**
+     * Appends whole records, e.g. a batch encoded with encode().
+     *
+     * @param records The records; must hold a whole number of them.
+     * @throws IOException If the log can't be written.
+     */
+    public synchronized void write(ByteBuffer records) throws IOException {
+        if (records.remaining() % recordBytes != 0) {
+            throw new IllegalArgumentException("buffer does not hold whole records");
+        }
+        while (records.hasRemaining()) {
+            channel.write(records);
+        }
+    }
+
+    /**
+     * Flushes the log and closes the file.
+     *
+     * @throws IOException If the file can't be closed.
+     */
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Records a move of the game in progress.
+     */
+    public synchronized void moveApplied(int row, int col, String player) {
+        if (numMoves == 0) {
+            startingPlayer = player == TicTacToeModel.PLAYER_X ? TicTacToeBoard.X : TicTacToeBoard.O;
+        }
+        if (numMoves < moves.length) moves[numMoves++] = row * size + col;
+    }
+
+    /**
+     * Appends the game that just ended.
+     */
+    public synchronized void gameEnded(String winner) {
+        int result = winner == TicTacToeModel.PLAYER_X ? TicTacToeBoard.X
+                : winner == TicTacToeModel.PLAYER_O ? TicTacToeBoard.O : TicTacToeBoard.TIE;
+        try {
+            long position = channel.position();
+            append(result, startingPlayer, moves, numMoves);
+            loggedAt = position;
+        } catch (IOException e) {
+            System.err.println("Can't log game: " + e);
+        }
+    }
+
+    /**
+     * Forgets a move taken back.  If it had ended the game, the game's record
+     * is removed from the end of the log.
+     */
+    public synchronized void moveUndone(int row, int col, String player) {
+        if (loggedAt >= 0) {
+            try {
+                if (channel.size() == loggedAt + recordBytes) channel.truncate(loggedAt);
+            } catch (IOException e) {
+                System.err.println("Can't take back logged game: " + e);
+            }
+            loggedAt = -1;
+        }
+        if (numMoves > 0) numMoves--;
+    }
+
+    /**
+     * Forgets the moves of the last game, which stays logged if it ended.
+     */
+    public synchronized void gameReset() {
+        numMoves = 0;
+        loggedAt = -1;
+    }
+}
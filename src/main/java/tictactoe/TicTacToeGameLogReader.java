@@ -0,0 +1,260 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the games in a TicTacToeGameLog by memory-mapping the file.  The reader
+ * is a cursor: next() decodes the next record into reused fields, so streaming
+ * through any number of games creates no objects.  Because records have a fixed
+ * length, seek() jumps straight to any game, which lets several readers split
+ * one log between them.
+ *
+ * Files larger than 2 GB are mapped a region at a time.  A reader is not
+ * thread-safe; give each thread its own.
+ *
+ * Usage: java -cp tictactoe.jar tictactoe.TicTacToeGameLogReader FILE
+ * prints the results in a log and how fast it was read.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeGameLogReader implements AutoCloseable {
+    private static final long REGION_BYTES = 1L << 30;  // largest region mapped at once
+
+    private final FileChannel channel;
+    private final int size;
+    private final int winLength;
+    private final int recordBytes;
+    private final int moveBits;
+    private final int countBits;
+    private final long numGames;
+    private final long gamesPerRegion;
+
+    private MappedByteBuffer region;
+    private long regionFirstGame;  // first game in the mapped region, if any
+    private long game = -1;  // the current game
+
+    // the current game, decoded by next()
+    private int result;
+    private int startingPlayer;
+    private int numMoves;
+    private final int[] moves;
+
+    /**
+     * Opens a log for reading.
+     *
+     * @param path The log file.
+     * @throws IOException If the file can't be read or is not a game log.
+     */
+    public TicTacToeGameLogReader(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, TicTacToeGameLog.HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != TicTacToeGameLog.MAGIC || header.getShort(4) != TicTacToeGameLog.VERSION) {
+                throw new IOException(path + " is not a game log");
+            }
+            size = header.get(6);
+            winLength = header.get(7);
+            recordBytes = header.getInt(8);
+            if (size < TicTacToeBoard.MIN_SIZE || size > TicTacToeBoard.MAX_SIZE || winLength < 1
+                    || winLength > size) {
+                throw new IOException(path + " has a bad board size");
+            }
+            if (recordBytes != TicTacToeGameLog.recordBytes(size)) {
+                throw new IOException(path + " has a bad record length");
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        moveBits = TicTacToeGameLog.bitsFor(size * size - 1);
+        countBits = TicTacToeGameLog.bitsFor(size * size);
+        numGames = (channel.size() - TicTacToeGameLog.HEADER_BYTES) / recordBytes;
+        gamesPerRegion = REGION_BYTES / recordBytes;
+        moves = new int[size * size];
+    }
+
+    /**
+     * Moves to the next game and decodes it.
+     *
+     * @return true if there was another game, false at the end of the log.
+     * @throws IOException If the file can't be mapped, or the game's record
+     *                     is damaged or not of this board.
+     */
+    public boolean next() throws IOException {
+        if (game + 1 >= numGames) return false;
+        game++;
+        if (region == null || game < regionFirstGame || game >= regionFirstGame + gamesPerRegion) {
+            regionFirstGame = game;
+            long games = Math.min(gamesPerRegion, numGames - game);
+            region = channel.map(FileChannel.MapMode.READ_ONLY,
+                    TicTacToeGameLog.HEADER_BYTES + game * recordBytes, games * recordBytes);
+        }
+        decode((int) ((game - regionFirstGame) * recordBytes));
+        return true;
+    }
+
+    /**
+     * Positions the reader so that the next call to next() reads the given game.
+     *
+     * @param game The index of the game, from 0 to getNumGames().
+     */
+    public void seek(long game) {
+        if (game < 0 || game > numGames) throw new IndexOutOfBoundsException("no game " + game);
+        this.game = game - 1;
+    }
+
+    /**
+     * Decodes the record at an offset in the mapped region.
+     *
+     * @param offset The offset of the record.
+     * @throws IOException If the record holds a result, move count or square
+     *                     that can't occur on this board.
+     */
+    private void decode(int offset) throws IOException {
+        int end = offset + recordBytes;
+        long bits = 0;
+        int numBits = 0;
+        // the header fields fit in the first 3 bytes
+        while (numBits < 3 + countBits) {
+            bits |= (region.get(offset++) & 0xffL) << numBits;
+            numBits += 8;
+        }
+        result = (int) (bits & 3);
+        startingPlayer = (int) (bits >>> 2 & 1);
+        numMoves = (int) (bits >>> 3 & ((1 << countBits) - 1));
+        if (result > TicTacToeBoard.TIE || numMoves > moves.length) {
+            throw new IOException("game " + game + " is damaged");
+        }
+        bits >>>= 3 + countBits;
+        numBits -= 3 + countBits;
+        int moveMask = (1 << moveBits) - 1;
+        for (int i = 0; i < numMoves; i++) {
+            while (numBits < moveBits && offset < end) {
+                bits |= (region.get(offset++) & 0xffL) << numBits;
+                numBits += 8;
+            }
+            moves[i] = (int) (bits & moveMask);
+            if (moves[i] >= moves.length) throw new IOException("game " + game + " has a move off the board");
+            bits >>>= moveBits;
+            numBits -= moveBits;
+        }
+    }
+
+    /**
+     * Returns the number of games in the log.
+     *
+     * @return The number of complete records.
+     */
+    public long getNumGames() {
+        return numGames;
+    }
+
+    /**
+     * Returns the index of the current game.
+     *
+     * @return The index of the game last read by next(), or -1 before the first.
+     */
+    public long getGame() {
+        return game;
+    }
+
+    /**
+     * Returns the number of rows and columns of the logged games.
+     *
+     * @return The board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of marks in a row needed to win the logged games.
+     *
+     * @return The win length.
+     */
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Returns the result of the current game.
+     *
+     * @return TicTacToeBoard.X, O or TIE.
+     */
+    public int getResult() {
+        return result;
+    }
+
+    /**
+     * Returns the player who started the current game.
+     *
+     * @return TicTacToeBoard.X or O.
+     */
+    public int getStartingPlayer() {
+        return startingPlayer;
+    }
+
+    /**
+     * Returns the number of moves in the current game.
+     *
+     * @return The number of moves.
+     */
+    public int getNumMoves() {
+        return numMoves;
+    }
+
+    /**
+     * Returns a move of the current game.
+     *
+     * @param i The index of the move, from 0 to getNumMoves() - 1.
+     * @return The square played (row * size + col).
+     */
+    public int getMove(int i) {
+        return moves[i];
+    }
+
+    /**
+     * Closes the file.  The mapped region is released when it is garbage collected.
+     *
+     * @throws IOException If the file can't be closed.
+     */
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Reads a log from start to end and prints a summary of its games.
+     *
+     * @param args The log file.
+     * @throws IOException If the log can't be read.
+     */
+    public static void main(String[] args) throws IOException {
+        long[] results = new long[3];
+        long totalMoves = 0;
+        long start = System.nanoTime();
+        try (TicTacToeGameLogReader reader = new TicTacToeGameLogReader(Path.of(args[0]))) {
+            while (reader.next()) {
+                results[reader.getResult()]++;
+                for (int i = 0; i < reader.getNumMoves(); i++) {
+                    totalMoves += reader.getMove(i) >= 0 ? 1 : 0;  // touch every move
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            long games = reader.getNumGames();
+            System.out.printf("%d games of %dx%d, %d in a row: X wins %d, O wins %d, ties %d, %.2f moves/game%n",
+                    games, reader.getSize(), reader.getSize(), reader.getWinLength(),
+                    results[TicTacToeBoard.X], results[TicTacToeBoard.O], results[TicTacToeBoard.TIE],
+                    (double) totalMoves / Math.max(1, games));
+            System.out.printf("read in %.3f s: %.0f games/s, %.1f MB/s%n", seconds, games / seconds,
+                    games * (double) reader.recordBytes / seconds / 1e6);
+        }
+    }
+}
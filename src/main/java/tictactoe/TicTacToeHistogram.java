@@ -0,0 +1,131 @@
+package tictactoe;
+
+/**
+ * A latency histogram in the style of HdrHistogram: values are counted in
+ * buckets whose width grows with the value, so any value from 0 to
+ * Long.MAX_VALUE is recorded in constant time and constant memory with a
+ * relative error of about 3%.  Values below 64 are exact.
+ *
+ * Note: A histogram is not thread-safe; give each recording thread its own and
+ * add() them together to report.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;  // buckets per power of 2
+    private static final int NUM_BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[NUM_BUCKETS];
+    private long count;
+    private long sum;
+    private long max;
+
+    /**
+     * Counts a value.
+     *
+     * @param value The value, at least 0.
+     */
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts[bucket(value)]++;
+        count++;
+        sum += value;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Returns the bucket of a value.
+     *
+     * @param value The value, at least 0.
+     * @return The bucket index.
+     */
+    private static int bucket(long value) {
+        if (value < 2 * SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Returns the largest value counted in a bucket.
+     *
+     * @param bucket The bucket index.
+     * @return The bucket's upper bound.
+     */
+    private static long highestValue(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * Returns the value below which the given fraction of the values fall.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The value, within about 3%, or 0 if nothing was counted.
+     */
+    public long getPercentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(highestValue(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * Returns the number of values counted.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean of the values counted.
+     *
+     * @return The mean, or 0 if nothing was counted.
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the largest value counted.
+     *
+     * @return The maximum, or 0 if nothing was counted.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Adds the counts of another histogram to this one.
+     *
+     * @param other The histogram to add.
+     */
+    public void add(TicTacToeHistogram other) {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Forgets every value counted.
+     */
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+}
@@ -0,0 +1,122 @@
+package tictactoe;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+
+/**
+ * The icons shown on the board's buttons.  The JPEGs are decoded once on a
+ * background thread, so neither class loading nor the Swing event thread waits
+ * for them, and only once load() is called, so decoding can wait until the
+ * window has been shown.  Icons are scaled to the size of a square on first use and cached
+ * per size; only the few most recent sizes are kept, so resizing the window or
+ * changing the board drops the icons that no longer fit.
+ *
+ * Note: The cache is only used from the Swing event thread.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeIcons {
+    public static final int X = TicTacToeBoard.X;  // icon indexes
+    public static final int O = TicTacToeBoard.O;
+    public static final int EMPTY = 2;
+
+    private static final String[] FILES = {"xicon.jpg", "oicon.jpg", "emptyicon.jpg"};  // indexed like the icons
+    private static final int MAX_SIZES = 4;  // icon sizes kept in the cache
+
+    private final CompletableFuture<BufferedImage[]> originals = new CompletableFuture<>();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private final Map<Integer, ImageIcon[]> scaled = new LinkedHashMap<>(8, 0.75f, true) {
+        protected boolean removeEldestEntry(Map.Entry<Integer, ImageIcon[]> eldest) {
+            return size() > MAX_SIZES;
+        }
+    };
+
+    /**
+     * Creates the icons.  Nothing is decoded until load() is called.
+     *
+     * @param onLoaded Run on the Swing event thread once the icons are decoded, or null.
+     */
+    public TicTacToeIcons(Runnable onLoaded) {
+        if (onLoaded != null) {
+            originals.thenRun(() -> SwingUtilities.invokeLater(onLoaded));
+        }
+    }
+
+    /**
+     * Starts decoding the icons in the background, unless they are already
+     * decoded or being decoded.
+     */
+    public void load() {
+        if (loading.compareAndSet(false, true)) {
+            ForkJoinPool.commonPool().execute(() -> originals.complete(decode()));
+        }
+    }
+
+    /**
+     * Decodes the JPEGs.  An image that can't be read is left null.
+     *
+     * @return The decoded images, indexed by X, O and EMPTY.
+     */
+    private static BufferedImage[] decode() {
+        BufferedImage[] images = new BufferedImage[FILES.length];
+        for (int i = 0; i < FILES.length; i++) {
+            try (InputStream in = TicTacToeIcons.class.getResourceAsStream(FILES[i])) {
+                images[i] = in == null ? null : ImageIO.read(in);
+            } catch (IOException e) {
+                System.err.println("Can't load icon " + FILES[i] + ": " + e);
+            }
+        }
+        return images;
+    }
+
+    /**
+     * Returns an icon scaled to fit a square of the given size.
+     *
+     * @param icon X, O or EMPTY.
+     * @param size The width and height of the square, in pixels.
+     * @return The icon, or null if the icons are not loaded yet or size is not positive.
+     */
+    public ImageIcon get(int icon, int size) {
+        if (size <= 0 || !originals.isDone()) return null;
+        ImageIcon[] icons = scaled.get(size);
+        if (icons == null) {
+            icons = new ImageIcon[FILES.length];
+            BufferedImage[] images = originals.join();
+            for (int i = 0; i < icons.length; i++) {
+                if (images[i] != null) icons[i] = new ImageIcon(scale(images[i], size));
+            }
+            scaled.put(size, icons);
+        }
+        return icons[icon];
+    }
+
+    /**
+     * Scales an image to a square of the given size.
+     *
+     * @param image The image to scale.
+     * @param size The width and height of the result.
+     * @return The scaled image.
+     */
+    private static BufferedImage scale(BufferedImage image, int size) {
+        BufferedImage result = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(image, 0, 0, size, size, null);
+        g.dispose();
+        return result;
+    }
+}
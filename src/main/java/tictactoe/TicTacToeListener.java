@@ -0,0 +1,66 @@
+package tictactoe;
+
+/**
+ * Receives the changes made to a TicTacToeModel.  Every method has an empty
+ * default implementation, so a listener only overrides the events it needs.
+ *
+ * Players and winners are the model's String constants (PLAYER_X, PLAYER_O and TIE).
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public interface TicTacToeListener {
+
+    /**
+     * Called after a player marks a square.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @param player The player who marked it.
+     */
+    default void moveApplied(int row, int col, String player) {
+    }
+
+    /**
+     * Called after a move is taken back.  If the move had ended the game, the
+     * game is in progress again, and scoreChanged follows if it had been won.
+     *
+     * @param row The row of the square, now empty.
+     * @param col The column of the square.
+     * @param player The player who had marked it, and whose turn it is again.
+     */
+    default void moveUndone(int row, int col, String player) {
+    }
+
+    /**
+     * Called after a move ends the game.
+     *
+     * @param winner The winner, or TIE.
+     */
+    default void gameEnded(String winner) {
+    }
+
+    /**
+     * Called after the number of wins of either player changes.
+     *
+     * @param numWinsX The number of times X has won.
+     * @param numWinsO The number of times O has won.
+     */
+    default void scoreChanged(int numWinsX, int numWinsO) {
+    }
+
+    /**
+     * Called after the board is cleared for a new game.
+     */
+    default void gameReset() {
+    }
+
+    /**
+     * Called after the player who starts the next games is changed.
+     *
+     * @param player The player who starts them now.
+     */
+    default void startingPlayerChanged(String player) {
+    }
+}
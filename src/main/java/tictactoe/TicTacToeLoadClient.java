@@ -0,0 +1,557 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A load generator for TicTacToeServer.  It opens many connections, keeps a
+ * number of SOLO matches going on each with random moves, and measures the
+ * round trip of every move from sending MOVE to receiving MOVED.  At the end it
+ * prints the move rate, the latency percentiles, and how much server heap each
+ * live match takes, from a STATS GC before and after the matches start.  The
+ * heap figures are only steady if the server collects garbage for STATS GC:
+ * start it with --allow-gc, or use --embedded, which does.
+ *
+ * With --watchers, every match also gets that many spectators, each on its own
+ * connection, which WATCH the match from the moment it starts.  Spectators are
+ * served by a thread of their own, as if they were on other machines.  The
+ * report then adds how long moves take to reach the spectators, counted from
+ * the MOVE, and how often the server resynced a spectator that fell behind.
+ *
+ * Usage: java -cp tictactoe.jar tictactoe.TicTacToeLoadClient [options]
+ *   --host H          server host (default localhost)
+ *   --port P          server port (default 7878)
+ *   --embedded        start a server in this process on a free port instead
+ *   --connections C   connections to open (default 100)
+ *   --matches M       matches kept going per connection (default 10)
+ *   --size N          board size (default 3)
+ *   --win K           marks in a row to win (default min(size, 5))
+ *   --watchers W      spectator connections per match (default 0)
+ *   --seconds S       how long to play (default 10)
+ *   --seed S          random seed (default 1)
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeLoadClient {
+    private static final int MIN_MATCHES_MEASURED = 1000;  // fewer are lost in the heap's noise
+
+    /**
+     * A match this client plays, as the client sees it.
+     */
+    private static final class Game {
+        final TicTacToeBoard board;
+        final AtomicLongArray sentAt;  // when the MOVE of each ply was sent
+        final AtomicIntegerArray squares;  // the square of each ply
+        Client[] watchers;
+        int id;
+        int generation;  // matches this game has been played in
+        volatile long match;  // generation << 32 | id, for the spectators
+
+        Game(int size, int winLength) {
+            board = new TicTacToeBoard(size, winLength);
+            sentAt = new AtomicLongArray(size * size);
+            squares = new AtomicIntegerArray(size * size);
+        }
+
+        int getPly() {
+            return board.getNumSquares() - board.getNumFreeSquares();
+        }
+    }
+
+    /**
+     * A connection to the server.
+     */
+    private static final class Client {
+        final SocketChannel channel;
+        final ByteBuffer in;
+        final ByteBuffer out;
+        final ArrayDeque<Game> pending = new ArrayDeque<>();  // games waiting for MATCH, in order
+        final Map<Integer, Game> games = new HashMap<>();  // by match id
+        SelectionKey key;
+
+        // for a spectator
+        Game watching;  // the game it follows, or null for a player
+        int watchGeneration;  // the game's generation when WATCH was last sent, or 0
+        int unansweredWatches;  // WATCHes sent that no SNAPSHOT or ERR has answered yet
+        int watchId;  // the match its last SNAPSHOT was of, or 0 once that match ended
+        int watchPly;  // the ply of the next move it expects
+
+        Client(SocketChannel channel, int bufferBytes) {
+            this.channel = channel;
+            in = ByteBuffer.allocate(bufferBytes);
+            out = ByteBuffer.allocate(bufferBytes);
+        }
+    }
+
+    private final int size;
+    private final int winLength;
+    private final SplittableRandom random;
+    private final TicTacToeHistogram latency = new TicTacToeHistogram();  // nanoseconds
+    private long games;
+    private long errors;
+    private long[] stats;  // the last STATS reply, or null while waiting for one
+
+    // spectators, only touched by their own thread until it has stopped
+    private final ConcurrentLinkedQueue<Game> started = new ConcurrentLinkedQueue<>();  // games with a new match
+    private Selector spectatorSelector;
+    private final TicTacToeHistogram delivery = new TicTacToeHistogram();  // MOVE to spectator, nanoseconds
+    private long deltas;  // MOVED lines received by spectators
+    private long resyncs;  // SNAPSHOTs no WATCH asked for
+    private long missedWatches;  // WATCHes of matches that had already ended
+    private long spectatorErrors;
+
+    /**
+     * Creates a load generator.
+     *
+     * @param size The board size.
+     * @param winLength The number of marks in a row needed to win.
+     * @param seed The random seed.
+     */
+    public TicTacToeLoadClient(int size, int winLength, long seed) {
+        this.size = size;
+        this.winLength = winLength;
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Plays against a server and prints the results.
+     *
+     * @param address The server.
+     * @param numConnections The number of connections to open.
+     * @param matchesPerConnection The number of matches kept going on each.
+     * @param watchersPerMatch The number of spectators of each match.
+     * @param seconds How long to play.
+     * @throws IOException If the server can't be reached or drops a connection.
+     */
+    public void run(InetSocketAddress address, int numConnections, int matchesPerConnection, int watchersPerMatch,
+            double seconds) throws IOException {
+        try (Selector selector = Selector.open(); Selector spectatorSelector = Selector.open()) {
+            this.spectatorSelector = spectatorSelector;
+            Client[] clients = new Client[numConnections];
+            for (int i = 0; i < numConnections; i++) {
+                clients[i] = connect(address, selector, 1 << 16);
+            }
+            Game[] matches = new Game[numConnections * matchesPerConnection];
+            Client[] watchers = new Client[matches.length * watchersPerMatch];
+            for (int m = 0; m < matches.length; m++) {
+                matches[m] = new Game(size, winLength);
+                matches[m].watchers = new Client[watchersPerMatch];
+                for (int i = 0; i < watchersPerMatch; i++) {
+                    Client watcher = connect(address, spectatorSelector, 1 << 13);
+                    watcher.watching = matches[m];
+                    matches[m].watchers[i] = watcher;
+                    watchers[m * watchersPerMatch + i] = watcher;
+                }
+            }
+
+            Thread spectators = new Thread(() -> spectate(spectatorSelector), "TicTacToe spectators");
+            spectators.setDaemon(true);
+            if (watchers.length > 0) spectators.start();
+
+            long[] before = stats(selector, clients[0]);
+            for (int c = 0; c < numConnections; c++) {
+                for (int i = 0; i < matchesPerConnection; i++) {
+                    newGame(clients[c], matches[c * matchesPerConnection + i]);
+                }
+                flush(clients[c]);
+            }
+
+            long start = System.nanoTime();
+            long end = start + (long) (seconds * 1e9);
+            long nextReport = start + 1_000_000_000L;
+            long reportedMoves = 0;
+            while (System.nanoTime() < end) {
+                poll(selector, 100);
+                long now = System.nanoTime();
+                if (now >= nextReport) {
+                    System.out.printf("%6.1f s: %,d moves/s, p99 %.1f us%n", (now - start) / 1e9,
+                            latency.getCount() - reportedMoves, latency.getPercentile(99) / 1e3);
+                    reportedMoves = latency.getCount();
+                    nextReport += 1_000_000_000L;
+                }
+            }
+            double elapsed = (System.nanoTime() - start) / 1e9;
+            spectators.interrupt();
+            try {
+                spectators.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("load client interrupted", e);
+            }
+            long[] after = stats(selector, clients[0]);
+
+            System.out.printf("%d connections x %d matches of %dx%d, %d in a row, for %.1f s%n",
+                    numConnections, matchesPerConnection, size, size, winLength, elapsed);
+            System.out.printf("moves: %,d (%,.0f/s), games: %,d (%,.0f/s), errors: %d%n",
+                    latency.getCount(), latency.getCount() / elapsed, games, games / elapsed, errors);
+            System.out.printf("round trip: mean %.1f us, p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                    latency.getMean() / 1e3, latency.getPercentile(50) / 1e3, latency.getPercentile(99) / 1e3,
+                    latency.getPercentile(99.9) / 1e3, latency.getMax() / 1e3);
+            long liveMatches = after[0] - before[0];
+            if (watchers.length > 0) {
+                System.out.printf("spectators: %d, deltas: %,d (%,.0f/s), resyncs: %,d, missed matches: %,d, "
+                        + "errors: %d%n", watchers.length, deltas, deltas / elapsed, resyncs, missedWatches,
+                        spectatorErrors);
+                System.out.printf("to spectators: mean %.1f us, p50 %.1f us, p99 %.1f us, p99.9 %.1f us, "
+                        + "max %.1f us%n", delivery.getMean() / 1e3, delivery.getPercentile(50) / 1e3,
+                        delivery.getPercentile(99) / 1e3, delivery.getPercentile(99.9) / 1e3,
+                        delivery.getMax() / 1e3);
+            }
+            System.out.printf("server: %d live matches, %d connections", after[0], after[1]);
+            if (liveMatches >= MIN_MATCHES_MEASURED) {
+                System.out.printf(", about %d heap bytes per match", (after[2] - before[2]) / liveMatches);
+            }
+            System.out.println();
+            for (Client client : clients) client.channel.close();
+            for (Client watcher : watchers) watcher.channel.close();
+        }
+    }
+
+    /**
+     * Opens a connection to the server.
+     *
+     * @param address The server.
+     * @param selector The selector of every connection.
+     * @param bufferBytes The size of its input and output buffers.
+     * @return The connection.
+     * @throws IOException If the server can't be reached.
+     */
+    private static Client connect(InetSocketAddress address, Selector selector, int bufferBytes) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Client client = new Client(channel, bufferBytes);
+        client.key = channel.register(selector, SelectionKey.OP_READ, client);
+        return client;
+    }
+
+    /**
+     * Serves the spectators until the thread is interrupted: sends a WATCH for
+     * every new match of their games and handles what the server sends them.
+     *
+     * @param selector The selector of every spectator.
+     */
+    private void spectate(Selector selector) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                for (Game game; (game = started.poll()) != null; ) {
+                    long match = game.match;
+                    for (Client watcher : game.watchers) {
+                        if (watcher.watchGeneration == (int) (match >>> 32)) continue;  // announced twice
+                        watcher.out.put(bytes("WATCH " + (int) match + "\n"));
+                        watcher.watchGeneration = (int) (match >>> 32);
+                        watcher.unansweredWatches++;
+                        flush(watcher);
+                    }
+                }
+                poll(selector, 100);
+            }
+        } catch (IOException e) {
+            System.err.println("Spectators stopped: " + e);
+        }
+    }
+
+    /**
+     * Asks the server for its statistics after a garbage collection, playing on
+     * while waiting for the reply.
+     *
+     * @param selector The selector of every connection.
+     * @param client The connection to ask on.
+     * @return The matches, connections and used heap bytes on the server.
+     * @throws IOException If a connection fails.
+     */
+    private long[] stats(Selector selector, Client client) throws IOException {
+        stats = null;
+        client.out.put(bytes("STATS GC\n"));
+        flush(client);
+        while (stats == null) poll(selector, 1000);
+        return stats;
+    }
+
+    /**
+     * Waits for replies and handles them.
+     *
+     * @param selector The selector of every connection.
+     * @param timeout The longest wait, in milliseconds.
+     * @throws IOException If a connection fails.
+     */
+    private void poll(Selector selector, long timeout) throws IOException {
+        selector.select(timeout);
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            Client client = (Client) key.attachment();
+            if (key.isReadable()) read(client);
+            if (key.isValid() && key.isWritable()) flush(client);
+        }
+    }
+
+    /**
+     * Reads what the server sent and handles every complete reply.
+     *
+     * @param client The connection.
+     * @throws IOException If the connection fails or the server closed it.
+     */
+    private void read(Client client) throws IOException {
+        ByteBuffer in = client.in;
+        if (client.channel.read(in) < 0) throw new IOException("server closed the connection");
+        long now = System.nanoTime();
+        in.flip();
+        int start = in.position();
+        for (int i = start; i < in.limit(); i++) {
+            if (in.get(i) == '\n') {
+                handle(client, new String(in.array(), start, i - start, StandardCharsets.US_ASCII), now);
+                start = i + 1;
+            }
+        }
+        in.position(start);
+        in.compact();
+        flush(client);
+    }
+
+    /**
+     * Handles one reply.
+     *
+     * @param client The connection it came on.
+     * @param reply The reply, without the newline.
+     * @param now When it was read, from System.nanoTime().
+     */
+    private void handle(Client client, String reply, long now) {
+        String[] words = reply.split(" ");
+        if (client.watching != null) {
+            watch(client, words, now);
+            return;
+        }
+        switch (words[0]) {
+            case "MATCH": {
+                Game game = client.pending.poll();
+                game.id = Integer.parseInt(words[1]);
+                game.generation++;
+                client.games.put(game.id, game);
+                move(client, game);
+                if (game.watchers.length > 0) {
+                    game.match = (long) game.generation << 32 | game.id;
+                    started.add(game);
+                    spectatorSelector.wakeup();
+                }
+                break;
+            }
+            case "MOVED": {
+                Game game = client.games.get(Integer.parseInt(words[1]));
+                latency.record(now - game.sentAt.get(game.getPly()));
+                game.board.play(Integer.parseInt(words[2]) * size + Integer.parseInt(words[3]));
+                if (game.board.getWinner() == TicTacToeBoard.NONE) move(client, game);
+                break;
+            }
+            case "END": {
+                Game game = client.games.remove(Integer.parseInt(words[1]));
+                games++;
+                game.board.clear();
+                newGame(client, game);
+                break;
+            }
+            case "STATS":
+                stats = new long[] {Long.parseLong(words[1]), Long.parseLong(words[2]), Long.parseLong(words[3])};
+                break;
+            default:
+                if (errors++ == 0) System.err.println("Server replied: " + reply);
+        }
+    }
+
+    /**
+     * Handles one reply to a spectator.  A move counts towards the delivery
+     * latency when it arrives, and the last move of a snapshot when that does.
+     *
+     * @param watcher The spectator's connection.
+     * @param words The reply, split into words.
+     * @param now When it was read, from System.nanoTime().
+     */
+    private void watch(Client watcher, String[] words, long now) {
+        Game game = watcher.watching;
+        switch (words[0]) {
+            case "SNAPSHOT": {
+                if (watcher.unansweredWatches > 0) {
+                    watcher.unansweredWatches--;
+                } else {
+                    resyncs++;
+                }
+                watcher.watchId = Integer.parseInt(words[1]);
+                int ply = 0;
+                for (int i = 0; i < words[3].length(); i++) {
+                    if (words[3].charAt(i) != '.') ply++;
+                }
+                watcher.watchPly = ply;
+                if (ply > 0) delivered(watcher, game, ply - 1, -1, now);
+                break;
+            }
+            case "MOVED": {
+                deltas++;
+                int id = Integer.parseInt(words[1]);
+                if (id != watcher.watchId) break;
+                delivered(watcher, game, watcher.watchPly++, Integer.parseInt(words[2]) * size
+                        + Integer.parseInt(words[3]), now);
+                break;
+            }
+            case "END":
+            case "ABANDONED":
+                if (Integer.parseInt(words[1]) == watcher.watchId) watcher.watchId = 0;
+                break;
+            case "ERR":
+                if (watcher.unansweredWatches > 0) watcher.unansweredWatches--;
+                missedWatches++;
+                break;
+            default:
+                if (spectatorErrors++ == 0) System.err.println("Server replied: " + String.join(" ", words));
+        }
+    }
+
+    /**
+     * Records how long a move took to reach a spectator, if the spectator is
+     * known to follow its game's current match.
+     *
+     * @param watcher The spectator's connection.
+     * @param game The game it follows.
+     * @param ply The ply of the move.
+     * @param square The square of the move, or -1 if it came in a snapshot.
+     * @param now When it was read, from System.nanoTime().
+     */
+    private void delivered(Client watcher, Game game, int ply, int square, long now) {
+        long match = game.match;
+        if (watcher.unansweredWatches == 0 && watcher.watchGeneration == (int) (match >>> 32)
+                && watcher.watchId == (int) match && ply < game.squares.length()
+                && (square < 0 || game.squares.get(ply) == square)) {
+            delivery.record(now - game.sentAt.get(ply));
+        }
+    }
+
+    /**
+     * Asks for a new SOLO match.
+     *
+     * @param client The connection.
+     * @param game The game to play in the match.
+     */
+    private void newGame(Client client, Game game) {
+        client.pending.add(game);
+        client.out.put(bytes("SOLO " + size + " " + winLength + "\n"));
+    }
+
+    /**
+     * Sends a random legal move.
+     *
+     * @param client The connection.
+     * @param game The game to move in.
+     */
+    private void move(Client client, Game game) {
+        TicTacToeBoard board = game.board;
+        int square = -1;
+        for (int n = random.nextInt(board.getNumFreeSquares()); n >= 0; n--) {
+            do {
+                square++;
+            } while (!board.isEmpty(square));
+        }
+        client.out.put(bytes("MOVE " + game.id + " " + square / size + " " + square % size + "\n"));
+        game.squares.set(game.getPly(), square);
+        game.sentAt.set(game.getPly(), System.nanoTime());
+    }
+
+    /**
+     * Writes as much pending output as the socket takes, and asks to be told
+     * when it can take the rest.
+     *
+     * @param client The connection.
+     * @throws IOException If the connection fails.
+     */
+    private static void flush(Client client) throws IOException {
+        ByteBuffer out = client.out;
+        if (out.position() > 0) {
+            out.flip();
+            client.channel.write(out);
+            out.compact();
+        }
+        client.key.interestOps(out.position() > 0
+                ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+    }
+
+    /**
+     * Returns the ASCII bytes of a String.
+     *
+     * @param text The text.
+     * @return Its bytes.
+     */
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Runs the load generator.
+     *
+     * @param args The options described above.
+     * @throws IOException If the server can't be reached.
+     */
+    public static void main(String[] args) throws IOException {
+        String host = "localhost";
+        int port = TicTacToeServer.DEFAULT_PORT;
+        boolean embedded = false;
+        int connections = 100;
+        int matches = 10;
+        int watchers = 0;
+        int size = 3;
+        int winLength = -1;
+        double seconds = 10;
+        long seed = 1;
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--embedded")) {  // the one option without a value
+                embedded = true;
+                continue;
+            }
+            if (++i == args.length) throw new IllegalArgumentException("missing value for option: " + option);
+            String value = args[i];
+            switch (option) {
+                case "--host": host = value; break;
+                case "--port": port = Integer.parseInt(value); break;
+                case "--connections": connections = Integer.parseInt(value); break;
+                case "--matches": matches = Integer.parseInt(value); break;
+                case "--watchers": watchers = Integer.parseInt(value); break;
+                case "--size": size = Integer.parseInt(value); break;
+                case "--win": winLength = Integer.parseInt(value); break;
+                case "--seconds": seconds = Double.parseDouble(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("unknown option: " + option);
+            }
+        }
+        if (winLength < 0) winLength = Math.min(size, 5);
+
+        TicTacToeServer server = null;
+        if (embedded) {
+            server = new TicTacToeServer(0, true);
+            port = server.getPort();
+            Thread thread = new Thread(server, "tictactoe-server");
+            thread.setDaemon(true);
+            thread.start();
+            System.out.println("Started a server on port " + port + " (its heap figures include this client's)");
+        }
+        try {
+            new TicTacToeLoadClient(size, winLength, seed).run(new InetSocketAddress(host, port),
+                    connections, matches, watchers, seconds);
+        } finally {
+            if (server != null) server.close();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package tictactoe;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A Monte Carlo Tree Search player for boards too large to solve.  Each search
+ * grows a tree of positions with UCT selection, finishes every new position
+ * with a random playout, and plays the root move that was visited most.
+ *
+ * Trees are stored in parallel primitive arrays, one slot per node, and the
+ * children of a node sit next to each other, so a search creates no node
+ * objects.  Each thread keeps its tree and its scratch board between searches.
+ * Moves are tried and taken back on the board with play() and undo() rather
+ * than by copying positions.
+ *
+ * A search is bounded by a number of playouts, a time limit, or both.  With
+ * more than one thread the search is root-parallel: every thread grows its
+ * own tree from the same position, and their root visit counts are added up.
+ *
+ * Note: Like every strategy, one TicTacToeMcts can be shared by many threads.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeMcts implements TicTacToeStrategy {
+    public static final int DEFAULT_PLAYOUTS = 1000;
+
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int MAX_NODES = 1 << 20;  // a full tree stops growing and keeps playing out
+    private static final int TIME_CHECK_INTERVAL = 64;  // playouts between clock reads
+
+    private static final ThreadLocal<Tree> TREES = ThreadLocal.withInitial(Tree::new);
+
+    private final int playouts;  // per thread, or 0 for no limit
+    private final long timeLimitNanos;  // or 0 for no limit
+    private final int threads;
+    private final ForkJoinPool pool;  // runs the extra threads' searches, or null
+
+    /**
+     * One thread's search tree.  Node 0 is the root; a node's children are
+     * firstChild[node] to firstChild[node] + numChildren[node] - 1.
+     */
+    private static final class Tree {
+        int[] move = new int[1024];  // the square played to reach the node
+        int[] firstChild = new int[1024];  // 0 until the node is expanded
+        int[] numChildren = new int[1024];
+        int[] visits = new int[1024];
+        int[] score = new int[1024];  // in half points, for the player who made the node's move
+        int numNodes;
+
+        TicTacToeBoard board;  // the searched position; restored after every playout
+        int[] path = new int[0];  // nodes from the root during one playout
+        int[] moves = new int[0];  // squares played during one playout, to take back
+        int[] free = new int[0];  // empty squares during a random playout
+
+        /**
+         * Prepares the tree to search a position.
+         *
+         * @param position The position to search; copied.
+         */
+        void reset(TicTacToeBoard position) {
+            if (board == null || board.getSize() != position.getSize()
+                    || board.getWinLength() != position.getWinLength()) {
+                board = new TicTacToeBoard(position.getSize(), position.getWinLength());
+                int numSquares = board.getNumSquares();
+                path = new int[numSquares + 1];
+                moves = new int[numSquares];
+                free = new int[numSquares];
+            }
+            board.copyFrom(position);
+            numNodes = 1;
+            move[0] = TicTacToeSolver.NO_MOVE;
+            firstChild[0] = 0;
+            numChildren[0] = 0;
+            visits[0] = 0;
+            score[0] = 0;
+        }
+
+        /**
+         * Makes room for more nodes.
+         *
+         * @param count The number of nodes about to be added.
+         * @return false if the tree is full.
+         */
+        boolean reserve(int count) {
+            if (numNodes + count > MAX_NODES) return false;
+            if (numNodes + count > move.length) {
+                int capacity = Math.min(MAX_NODES, Math.max(2 * move.length, numNodes + count));
+                move = Arrays.copyOf(move, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                numChildren = Arrays.copyOf(numChildren, capacity);
+                visits = Arrays.copyOf(visits, capacity);
+                score = Arrays.copyOf(score, capacity);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Creates a single-threaded player that makes DEFAULT_PLAYOUTS playouts per move.
+     */
+    public TicTacToeMcts() {
+        this(DEFAULT_PLAYOUTS, 0, 1);
+    }
+
+    /**
+     * Creates a player.
+     *
+     * @param playouts The number of playouts per thread per move, or 0 for no limit.
+     * @param timeLimitMillis The longest time to think per move, or 0 for no limit.
+     * @param threads The number of threads searching each move.
+     */
+    public TicTacToeMcts(int playouts, long timeLimitMillis, int threads) {
+        if (playouts <= 0 && timeLimitMillis <= 0) {
+            throw new IllegalArgumentException("a search needs a playout or time limit");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("a search needs at least one thread");
+        }
+        this.playouts = playouts;
+        this.timeLimitNanos = timeLimitMillis * 1_000_000;
+        this.threads = threads;
+        pool = threads > 1 ? new ForkJoinPool(threads - 1) : null;
+    }
+
+    /**
+     * Chooses the root move visited most by the search.
+     */
+    public int chooseMove(TicTacToeBoard board, SplittableRandom random) {
+        long deadline = timeLimitNanos > 0 ? System.nanoTime() + timeLimitNanos : Long.MAX_VALUE;
+        int[] rootVisits = new int[board.getNumSquares()];
+        ForkJoinTask<?>[] helpers = new ForkJoinTask<?>[threads - 1];
+        for (int i = 0; i < helpers.length; i++) {
+            SplittableRandom helperRandom = random.split();
+            helpers[i] = pool.submit(() -> search(board, helperRandom, deadline, rootVisits));
+        }
+        search(board, random, deadline, rootVisits);
+        for (ForkJoinTask<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("search failed", e.getCause());
+            }
+        }
+        int best = TicTacToeSolver.NO_MOVE;
+        synchronized (rootVisits) {
+            for (int square = 0; square < rootVisits.length; square++) {
+                if (board.isLegal(square)
+                        && (best == TicTacToeSolver.NO_MOVE || rootVisits[square] > rootVisits[best])) {
+                    best = square;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Grows this thread's tree from a position and adds its root visit counts to
+     * a shared total.
+     *
+     * @param position The position to search; not changed.
+     * @param random The random number generator of this search.
+     * @param deadline When to stop, from System.nanoTime().
+     * @param rootVisits The visit counts of every root move, added to under its lock.
+     */
+    private void search(TicTacToeBoard position, SplittableRandom random, long deadline, int[] rootVisits) {
+        Tree tree = TREES.get();
+        tree.reset(position);
+        for (int i = 0; playouts <= 0 || i < playouts; i++) {
+            if (i % TIME_CHECK_INTERVAL == 0
+                    && (System.nanoTime() >= deadline || Thread.currentThread().isInterrupted())) {
+                break;
+            }
+            playout(tree, random);
+        }
+        synchronized (rootVisits) {
+            for (int child = tree.firstChild[0]; child < tree.firstChild[0] + tree.numChildren[0]; child++) {
+                rootVisits[tree.move[child]] += tree.visits[child];
+            }
+        }
+    }
+
+    /**
+     * Runs one playout: selects a path down the tree, expands its last node,
+     * plays randomly to the end of the game, scores the nodes on the path and
+     * takes every move back.
+     *
+     * @param tree The tree.
+     * @param random The random number generator.
+     */
+    private static void playout(Tree tree, SplittableRandom random) {
+        TicTacToeBoard board = tree.board;
+        int[] path = tree.path;
+        int[] moves = tree.moves;
+        int depth = 0;
+        int numMoves = 0;
+        int node = 0;
+        path[depth++] = 0;
+
+        // selection: follow the best child while the node has been expanded
+        while (tree.numChildren[node] > 0) {
+            node = select(tree, node);
+            path[depth++] = node;
+            board.play(tree.move[node]);
+            moves[numMoves++] = tree.move[node];
+        }
+
+        // expansion: add every legal move as a child, then try one of them
+        if (board.getWinner() == TicTacToeBoard.NONE && (node == 0 || tree.visits[node] > 0)
+                && tree.reserve(board.getNumFreeSquares())) {
+            int first = tree.numNodes;
+            int count = board.getLegalMoves(tree.free);
+            for (int i = 0; i < count; i++) {
+                int child = first + i;
+                tree.move[child] = tree.free[i];
+                tree.firstChild[child] = 0;
+                tree.numChildren[child] = 0;
+                tree.visits[child] = 0;
+                tree.score[child] = 0;
+            }
+            tree.numNodes += count;
+            tree.firstChild[node] = first;
+            tree.numChildren[node] = count;
+            node = first + random.nextInt(count);
+            path[depth++] = node;
+            board.play(tree.move[node]);
+            moves[numMoves++] = tree.move[node];
+        }
+
+        // simulation: play random moves until the game ends
+        int winner = board.getWinner();
+        if (winner == TicTacToeBoard.NONE) {
+            int[] free = tree.free;
+            int numFree = board.getLegalMoves(free);
+            while (winner == TicTacToeBoard.NONE) {
+                int i = random.nextInt(numFree);
+                int square = free[i];
+                free[i] = free[--numFree];
+                winner = board.play(square);
+                moves[numMoves++] = square;
+            }
+        }
+
+        // backpropagation: a node scores for the player who made its move
+        for (int i = numMoves - 1; i >= 0; i--) {
+            board.undo(moves[i]);
+        }
+        int player = board.getPlayer();  // made the moves at odd depths; the other player at even ones
+        for (int i = 0; i < depth; i++) {
+            tree.visits[path[i]]++;
+            if (winner == TicTacToeBoard.TIE) {
+                tree.score[path[i]] += 1;
+            } else if (winner == (i % 2 == 1 ? player : player ^ 1)) {
+                tree.score[path[i]] += 2;
+            }
+        }
+    }
+
+    /**
+     * Returns the child of a node with the best upper confidence bound, trying
+     * every child once first.
+     *
+     * @param tree The tree.
+     * @param node An expanded node.
+     * @return The selected child.
+     */
+    private static int select(Tree tree, int node) {
+        int first = tree.firstChild[node];
+        int end = first + tree.numChildren[node];
+        double logVisits = Math.log(tree.visits[node]);
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (int child = first; child < end; child++) {
+            int visits = tree.visits[child];
+            if (visits == 0) return child;
+            double value = tree.score[child] / (2.0 * visits) + EXPLORATION * Math.sqrt(logVisits / visits);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+}
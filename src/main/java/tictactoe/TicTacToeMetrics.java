@@ -0,0 +1,243 @@
+package tictactoe;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters and latency histograms for the game's hot paths: moves made, games
+ * completed, the time to apply a move and check it for a win, the time the view
+ * takes to render a frame, and the time from asking for a sound to its clip
+ * starting.
+ *
+ * Metrics are off unless the JVM runs with -Dtictactoe.metrics=true.  ENABLED
+ * is a static final constant, so when it is false the JIT compiles every
+ * Timer and Counter call away and the hot paths pay nothing.  When enabled,
+ * the metrics are registered with JMX as "tictactoe:type=Metrics" and a report
+ * is printed to System.err every tictactoe.metrics.interval seconds (10 by
+ * default, 0 for never).
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public final class TicTacToeMetrics implements TicTacToeMetricsMBean {
+    public static final boolean ENABLED = Boolean.getBoolean("tictactoe.metrics");
+
+    private static final long INTERVAL_SECONDS = Long.getLong("tictactoe.metrics.interval", 10);
+
+    /**
+     * A count of events, cheap to update from many threads at once.
+     */
+    public static final class Counter {
+        private final LongAdder count = new LongAdder();
+
+        /**
+         * Counts one event, if metrics are enabled.
+         */
+        public void increment() {
+            if (ENABLED) count.increment();
+        }
+
+        /**
+         * Returns the number of events counted.
+         *
+         * @return The count.
+         */
+        public long get() {
+            return count.sum();
+        }
+    }
+
+    /**
+     * A histogram of durations in nanoseconds.  Time an operation with
+     * stop(start()), which reads no clock when metrics are disabled.
+     */
+    public static final class Timer {
+        private final TicTacToeHistogram histogram = new TicTacToeHistogram();  // guarded by this
+
+        /**
+         * Returns the time an operation starts.
+         *
+         * @return The current System.nanoTime(), or 0 if metrics are disabled.
+         */
+        public long start() {
+            return ENABLED ? System.nanoTime() : 0;
+        }
+
+        /**
+         * Records the time since an operation started, if metrics are enabled.
+         *
+         * @param start The value start() returned when the operation began.
+         */
+        public void stop(long start) {
+            if (ENABLED) record(System.nanoTime() - start);
+        }
+
+        /**
+         * Records a duration.
+         *
+         * @param nanos The duration in nanoseconds.
+         */
+        private synchronized void record(long nanos) {
+            histogram.record(nanos);
+        }
+
+        /**
+         * Returns a percentile of the recorded durations.
+         *
+         * @param percentile The percentile, from 0 to 100.
+         * @return The duration in microseconds.
+         */
+        public synchronized double getPercentileMicros(double percentile) {
+            return histogram.getPercentile(percentile) / 1e3;
+        }
+
+        /**
+         * Returns a line describing the recorded durations.
+         *
+         * @return The count, median, 99th and 99.9th percentiles and maximum.
+         */
+        synchronized String describe() {
+            return String.format("n=%d p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus", histogram.getCount(),
+                    histogram.getPercentile(50) / 1e3, histogram.getPercentile(99) / 1e3,
+                    histogram.getPercentile(99.9) / 1e3, histogram.getMax() / 1e3);
+        }
+
+        /**
+         * Forgets every recorded duration.
+         */
+        synchronized void reset() {
+            histogram.reset();
+        }
+    }
+
+    public static final Counter MOVES = new Counter();  // moves made in models and on the server
+    public static final Counter GAMES = new Counter();  // games won or tied
+    public static final Timer WIN_CHECK = new Timer();  // applying a move and checking it for a win
+    public static final Timer RENDER = new Timer();  // one frame of TicTacToeView on the event thread
+    public static final Timer SOUND_START = new Timer();  // from TicTacToeSounds.play to the clip starting
+
+    private static final TicTacToeMetrics INSTANCE = new TicTacToeMetrics();
+
+    // the move rate over the last interval, updated by the reporting thread
+    private volatile double movesPerSecond;
+    private long lastMoves;
+    private long lastTick = System.nanoTime();
+
+    static {
+        if (ENABLED) INSTANCE.start();
+    }
+
+    /**
+     * Not instantiable except for the JMX view.
+     */
+    private TicTacToeMetrics() {
+    }
+
+    /**
+     * Registers the JMX view and starts the periodic report.
+     */
+    private void start() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName("tictactoe:type=Metrics"));
+        } catch (JMException e) {
+            System.err.println("Can't register metrics with JMX: " + e);
+        }
+        if (INTERVAL_SECONDS > 0) {
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "TicTacToe metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(() -> System.err.print(tick()), INTERVAL_SECONDS, INTERVAL_SECONDS,
+                    TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Updates the move rate and returns the report.  Runs on the reporting thread.
+     *
+     * @return The report.
+     */
+    private synchronized String tick() {
+        long now = System.nanoTime();
+        long moves = MOVES.get();
+        movesPerSecond = (moves - lastMoves) * 1e9 / Math.max(1, now - lastTick);
+        lastMoves = moves;
+        lastTick = now;
+        return getReport();
+    }
+
+    public long getMoves() {
+        return MOVES.get();
+    }
+
+    public double getMovesPerSecond() {
+        return movesPerSecond;
+    }
+
+    public long getGamesCompleted() {
+        return GAMES.get();
+    }
+
+    public double getWinCheckP50Micros() {
+        return WIN_CHECK.getPercentileMicros(50);
+    }
+
+    public double getWinCheckP99Micros() {
+        return WIN_CHECK.getPercentileMicros(99);
+    }
+
+    public double getRenderP50Micros() {
+        return RENDER.getPercentileMicros(50);
+    }
+
+    public double getRenderP99Micros() {
+        return RENDER.getPercentileMicros(99);
+    }
+
+    public double getSoundStartP50Micros() {
+        return SOUND_START.getPercentileMicros(50);
+    }
+
+    public double getSoundStartP99Micros() {
+        return SOUND_START.getPercentileMicros(99);
+    }
+
+    public String getReport() {
+        return String.format("tictactoe metrics%n"
+                        + "  moves       %d (%.1f/s)%n"
+                        + "  games       %d%n"
+                        + "  winCheck    %s%n"
+                        + "  render      %s%n"
+                        + "  soundStart  %s%n",
+                MOVES.get(), movesPerSecond, GAMES.get(), WIN_CHECK.describe(), RENDER.describe(),
+                SOUND_START.describe());
+    }
+
+    public void reset() {
+        MOVES.count.reset();
+        GAMES.count.reset();
+        WIN_CHECK.reset();
+        RENDER.reset();
+        SOUND_START.reset();
+        synchronized (this) {
+            lastMoves = 0;
+        }
+    }
+
+    /**
+     * Returns the report of every metric.
+     *
+     * @return The report, in the format of the periodic dump.
+     */
+    public static String report() {
+        return INSTANCE.getReport();
+    }
+}
@@ -0,0 +1,87 @@
+package tictactoe;
+
+/**
+ * The JMX view of TicTacToeMetrics, registered as "tictactoe:type=Metrics"
+ * when metrics are enabled.  Latencies are in microseconds.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public interface TicTacToeMetricsMBean {
+
+    /**
+     * Returns the number of moves made.
+     *
+     * @return The moves since startup or the last reset.
+     */
+    long getMoves();
+
+    /**
+     * Returns the number of moves made per second over the last dump interval.
+     *
+     * @return The move rate.
+     */
+    double getMovesPerSecond();
+
+    /**
+     * Returns the number of games that ended in a win or a tie.
+     *
+     * @return The games since startup or the last reset.
+     */
+    long getGamesCompleted();
+
+    /**
+     * Returns the median time taken to apply a move and check it for a win.
+     *
+     * @return The 50th percentile, in microseconds.
+     */
+    double getWinCheckP50Micros();
+
+    /**
+     * Returns the 99th percentile of the time taken to apply a move and check it for a win.
+     *
+     * @return The 99th percentile, in microseconds.
+     */
+    double getWinCheckP99Micros();
+
+    /**
+     * Returns the median time the view takes to render a frame on the event thread.
+     *
+     * @return The 50th percentile, in microseconds.
+     */
+    double getRenderP50Micros();
+
+    /**
+     * Returns the 99th percentile of the time the view takes to render a frame.
+     *
+     * @return The 99th percentile, in microseconds.
+     */
+    double getRenderP99Micros();
+
+    /**
+     * Returns the median time from asking for a sound to its clip starting.
+     *
+     * @return The 50th percentile, in microseconds.
+     */
+    double getSoundStartP50Micros();
+
+    /**
+     * Returns the 99th percentile of the time from asking for a sound to its clip starting.
+     *
+     * @return The 99th percentile, in microseconds.
+     */
+    double getSoundStartP99Micros();
+
+    /**
+     * Returns every metric as text, in the format of the periodic dump.
+     *
+     * @return The report.
+     */
+    String getReport();
+
+    /**
+     * Sets every counter and histogram back to 0.
+     */
+    void reset();
+}
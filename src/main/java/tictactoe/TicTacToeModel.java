@@ -0,0 +1,575 @@
+package tictactoe;
+
+import java.util.Arrays;
+
+/**
+ * A class modelling a tic-tac-toe (noughts and crosses, Xs and Os) game on an
+ * N x N board, where K marks in a row win.  The classic game is 3x3 with 3 in a row.
+ *
+ * Note: The position itself lives in a TicTacToeBoard, which stores it as bitmasks.
+ * The N x N array of Strings is kept in step with it because the view reads the
+ * board as Strings.
+ *
+ * Changes are reported to TicTacToeListeners.  With no listeners registered,
+ * reporting costs one check of an empty array.
+ *
+ * The moves of the current game are kept in a preallocated stack of square
+ * indexes, so moves can be taken back and redone, e.g. by a search trying
+ * moves or by the Undo and Redo menu items.
+ *
+ * @author Lynn Marshall
+ * @author Hubert Dang
+ * @version April 4, 2023
+ */
+
+public class TicTacToeModel {
+    public static final String PLAYER_X = "X"; // player using "X"
+    public static final String PLAYER_O = "O"; // player using "O"
+    public static final String EMPTY = " ";  // empty cell
+    public static final String TIE = "T"; // game ended in a tie
+
+    private int numWinsX;  // number of times player using "X" won
+    private int numWinsO;  // number of times player using "O" won
+
+    private final TicTacToeBoard core; // the position, as bitmasks
+
+    private String board[][]; // N x N array of Strings mirroring the core
+
+    private final int[] history;  // squares played this game, in order, including undone moves that can be redone
+    private int numMoves;  // moves in effect; history[numMoves, historyLength) can be redone
+    private int historyLength;
+
+    private volatile TicTacToeListener[] listeners = new TicTacToeListener[0];  // replaced, never changed
+
+    /**
+     * Constructs a new 3x3 Tic-Tac-Toe board where 3 in a row wins.
+     */
+    public TicTacToeModel() {
+        this(3, 3);
+    }
+
+    /**
+     * Constructs a new Tic-Tac-Toe board.
+     *
+     * @param size The number of rows and columns.
+     * @param winLength The number of marks in a row needed to win.
+     */
+    public TicTacToeModel(int size, int winLength) {
+        core = new TicTacToeBoard(size, winLength);  // player X starts by default
+        core.setSymmetryHashing(true);  // so getCanonicalHash() is O(1)
+        board = new String[size][size];
+        history = new int[size * size];
+        clearBoard();
+        resetScore();
+    }
+
+    /**
+     * Sets everything up for a new game.  Marks all squares in the Tic Tac Toe board as empty,
+     * and indicates no winner yet, all squares free and the current player is the starting player.
+     */
+    private void clearBoard() {
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0; j < board.length; j++) {
+                board[i][j] = EMPTY;
+            }
+        }
+        core.clear();
+        numMoves = 0;
+        historyLength = 0;
+    }
+
+
+    /**
+     * Changes the starting player to the other player.
+     */
+    public void changeStartingPlayer() {
+        core.setStartingPlayer(core.getStartingPlayer() ^ 1);
+        String player = toString(core.getStartingPlayer());
+        for (TicTacToeListener listener : listeners) {
+            listener.startingPlayerChanged(player);
+        }
+    }
+
+
+    /**
+     * Puts the model in a saved state: a game replayed from its moves, the
+     * starting player of the games after it, and the score.  The listeners are
+     * told the game was reset, then about each move in effect and the score;
+     * the end of a finished game is not reported again.  The model is left as
+     * it was if the moves can't be played.
+     *
+     * @param gameStarter The player who started the game, TicTacToeBoard.X or O.
+     * @param startingPlayer The player who starts the next games, TicTacToeBoard.X or O.
+     * @param squares The square of each move of the game, including moves taken back that can be redone.
+     * @param numMoves The number of moves in effect.
+     * @param historyLength The number of moves in squares.
+     * @param numWinsX The number of times X has won.
+     * @param numWinsO The number of times O has won.
+     * @throws IllegalArgumentException If the moves can't be played on this board.
+     */
+    public void restore(int gameStarter, int startingPlayer, int[] squares, int numMoves, int historyLength,
+            int numWinsX, int numWinsO) {
+        if ((gameStarter & ~1) != 0 || (startingPlayer & ~1) != 0 || numWinsX < 0 || numWinsO < 0
+                || numMoves < 0 || numMoves > historyLength || historyLength > history.length) {
+            throw new IllegalArgumentException("not a state of this game");
+        }
+        TicTacToeBoard check = new TicTacToeBoard(core.getSize(), core.getWinLength());
+        check.setStartingPlayer(gameStarter);
+        check.clear();
+        for (int i = 0; i < historyLength; i++) {
+            if (!check.isLegal(squares[i])) {
+                throw new IllegalArgumentException("move " + (i + 1) + " can't be played");
+            }
+            check.play(squares[i]);
+        }
+
+        core.setStartingPlayer(gameStarter);
+        clearBoard();
+        core.setStartingPlayer(startingPlayer);
+        int size = core.getSize();
+        for (int i = 0; i < numMoves; i++) {
+            board[squares[i] / size][squares[i] % size] = toString(core.getPlayer());
+            core.play(squares[i]);
+        }
+        System.arraycopy(squares, 0, history, 0, historyLength);
+        this.numMoves = numMoves;
+        this.historyLength = historyLength;
+        this.numWinsX = numWinsX;
+        this.numWinsO = numWinsO;
+
+        TicTacToeListener[] listeners = this.listeners;
+        for (TicTacToeListener listener : listeners) {
+            listener.gameReset();
+        }
+        for (int i = 0; i < numMoves; i++) {
+            int row = squares[i] / size;
+            int col = squares[i] % size;
+            for (TicTacToeListener listener : listeners) {
+                listener.moveApplied(row, col, board[row][col]);
+            }
+        }
+        fireScoreChanged();
+    }
+
+
+    /**
+     * Resets the number of wins for player X and O.
+     */
+    public void resetScore() {
+        numWinsX = 0;
+        numWinsO = 0;
+        fireScoreChanged();
+    }
+
+
+    /**
+     * Resets the game to its initial state.
+     *
+     * Note: This method was created because clearBoard could not be used to notify the listeners.
+     */
+    public void newGame() {
+        this.clearBoard();
+        for (TicTacToeListener listener : listeners) {
+            listener.gameReset();
+        }
+    }
+
+
+    /**
+     * Fills a square in the board with either an X or an O. If the square is already
+     * marked, do nothing.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     */
+    public void setSquare(int row, int col) {
+        makeMove(row, col);
+    }
+
+
+    /**
+     * Marks a square for the current player and records the move so that it can
+     * be taken back.  Moves that were taken back can no longer be redone.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @return true if the move was made, false if the square is off the board,
+     *         already marked, or the game is over.
+     */
+    public boolean makeMove(int row, int col) {
+        // only fill square if it is a valid and empty square
+        int size = core.getSize();
+        if (row < 0 || row >= size || col < 0 || col >= size || !core.isLegal(row * size + col)) {
+            return false;
+        }
+        history[numMoves++] = row * size + col;
+        historyLength = numMoves;
+        apply(row, col);
+        return true;
+    }
+
+
+    /**
+     * Takes back the last move: empties its square, gives the turn back to the
+     * player who made it, and takes away the win if the move had won the game.
+     * Doesn't allocate.
+     *
+     * @return true if a move was taken back, false if no move has been made this game.
+     */
+    public boolean unmakeMove() {
+        if (numMoves == 0) {
+            return false;
+        }
+        int square = history[--numMoves];
+        int row = square / core.getSize();
+        int col = square % core.getSize();
+        int result = core.getWinner();
+        core.undo(square);
+        board[row][col] = EMPTY;
+        String player = toString(core.getPlayer());
+        if (result == TicTacToeBoard.X || result == TicTacToeBoard.O) {
+            decrementNumWins(player);
+        }
+        TicTacToeListener[] listeners = this.listeners;
+        for (TicTacToeListener listener : listeners) {
+            listener.moveUndone(row, col, player);
+        }
+        if (result == TicTacToeBoard.X || result == TicTacToeBoard.O) {
+            fireScoreChanged();
+        }
+        return true;
+    }
+
+
+    /**
+     * Makes the last move taken back again.
+     *
+     * @return true if a move was redone, false if there is none to redo.
+     */
+    public boolean redoMove() {
+        if (numMoves == historyLength) {
+            return false;
+        }
+        int square = history[numMoves++];
+        apply(square / core.getSize(), square % core.getSize());
+        return true;
+    }
+
+
+    /**
+     * Returns true if a move of this game can be taken back.
+     *
+     * @return true if unmakeMove would succeed.
+     */
+    public boolean canUndo() {
+        return numMoves > 0;
+    }
+
+
+    /**
+     * Returns the number of moves in effect in this game.
+     *
+     * @return The moves made and not taken back.
+     */
+    public int getNumMoves() {
+        return numMoves;
+    }
+
+
+    /**
+     * Copies the moves of this game, including moves taken back that can be redone.
+     *
+     * @param squares Filled with the square index (row * size + col) of each
+     *                move in order; needs room for size * size of them.
+     * @return The number of moves copied.  The first getNumMoves() are in effect.
+     */
+    public int getHistory(int[] squares) {
+        System.arraycopy(history, 0, squares, 0, historyLength);
+        return historyLength;
+    }
+
+
+    /**
+     * Returns true if a move taken back can be made again.
+     *
+     * @return true if redoMove would succeed.
+     */
+    public boolean canRedo() {
+        return numMoves < historyLength;
+    }
+
+
+    /**
+     * Marks a legal square for the current player and tells the listeners.
+     *
+     * @param row The row of the square.
+     * @param col The column of the square.
+     */
+    private void apply(int row, int col) {
+        String player = toString(core.getPlayer());
+        board[row][col] = player;
+        // the core checks for a winner on this square and changes to the other player
+        long start = TicTacToeMetrics.WIN_CHECK.start();
+        int result = core.play(row * core.getSize() + col);
+        TicTacToeMetrics.WIN_CHECK.stop(start);
+        TicTacToeMetrics.MOVES.increment();
+        if (result != TicTacToeBoard.NONE) {
+            TicTacToeMetrics.GAMES.increment();
+        }
+        if (result == TicTacToeBoard.X || result == TicTacToeBoard.O) {
+            incrementNumWins(player);
+        }
+        TicTacToeListener[] listeners = this.listeners;
+        if (listeners.length > 0) {
+            fireMove(listeners, row, col, player, result);
+        }
+    }
+
+
+    /**
+     * Tells the listeners about a move, and about the end of the game if the move ended it.
+     *
+     * @param listeners The listeners to tell.
+     * @param row The row of the square.
+     * @param col The column of the square.
+     * @param player The player who marked it.
+     * @param result The core's winner after the move.
+     */
+    private void fireMove(TicTacToeListener[] listeners, int row, int col, String player, int result) {
+        for (TicTacToeListener listener : listeners) {
+            listener.moveApplied(row, col, player);
+        }
+        if (result != TicTacToeBoard.NONE) {
+            String winner = toString(result);
+            for (TicTacToeListener listener : listeners) {
+                listener.gameEnded(winner);
+            }
+            if (result != TicTacToeBoard.TIE) fireScoreChanged();
+        }
+    }
+
+
+    /**
+     * Tells the listeners the current score.
+     */
+    private void fireScoreChanged() {
+        for (TicTacToeListener listener : listeners) {
+            listener.scoreChanged(numWinsX, numWinsO);
+        }
+    }
+
+
+    /**
+     * Registers a listener to be told about every change to the model.
+     *
+     * @param listener The listener to add.
+     */
+    public synchronized void addListener(TicTacToeListener listener) {
+        TicTacToeListener[] added = Arrays.copyOf(listeners, listeners.length + 1);
+        added[listeners.length] = listener;
+        listeners = added;
+    }
+
+
+    /**
+     * Stops telling a listener about changes to the model.
+     *
+     * @param listener The listener to remove.
+     */
+    public synchronized void removeListener(TicTacToeListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                TicTacToeListener[] removed = new TicTacToeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, removed, 0, i);
+                System.arraycopy(listeners, i + 1, removed, i, removed.length - i);
+                listeners = removed;
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Returns the board.
+     *
+     * Note: This method was created for the view to access the values of the board.
+     *
+     * @return The board.
+     */
+    public String[][] getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the winner.
+     *
+     * Note: This method was created to be used by the controller to identify if the
+     * game was won by a particular player, or if it was tied.
+     *
+     * @return A String of the winner.
+     */
+    public String getWinner() {
+        int winner = core.getWinner();
+        return winner == TicTacToeBoard.NONE ? EMPTY : toString(winner);
+    }
+
+
+    /**
+     * Returns the game's state.
+     *
+     * @return The TicTacToeStatus of the game.
+     */
+    public TicTacToeStatus getStatus() {
+        return TicTacToeStatus.of(core);
+    }
+
+
+    /**
+     * Return the game's state as a String.
+     *
+     * Note: The Strings are built once per state by TicTacToeStatus, so this
+     * method doesn't allocate.
+     *
+     * @return A String of the game's current state.
+     */
+    public String getGameState() {
+        return getStatus().getText();
+    }
+
+
+    /**
+     * Returns the number of wins that a player has.
+     *
+     * @param player The player whose number of wins is being returned.
+     * @return The number of times a player has won.
+     */
+    public int getNumWins(String player) {
+        if (player == PLAYER_X) {
+            return numWinsX;
+        } else {
+            return numWinsO;
+        }
+    }
+
+
+    /**
+     * Increments a player's number of wins by 1.
+     *
+     * @param player The player whose number of wins is to be incremented.
+     */
+    private void incrementNumWins(String player) {
+        if (player == PLAYER_X) {
+            numWinsX++;
+        } else {
+            numWinsO++;
+        }
+    }
+
+
+    /**
+     * Decrements a player's number of wins by 1.
+     *
+     * @param player The player whose win is taken back.
+     */
+    private void decrementNumWins(String player) {
+        if (player == PLAYER_X) {
+            numWinsX--;
+        } else {
+            numWinsO--;
+        }
+    }
+
+
+    /**
+     * Returns the String of the current player.
+     *
+     * @return A String of the current player
+     */
+    public String getCurrentPlayer() {
+        return toString(core.getPlayer());
+    }
+
+
+    /**
+     * Returns the mark at a specified square on the board.
+     *
+     * @param row The row of the tile.
+     * @param col The column of the tile.
+     * @return The String mark at the specified square on the board.
+     *
+     * Note: This method was created for the controller to know the mark of a square
+     * in method actionPerformed.
+     */
+    public String getMark(int row, int col) {
+        int mark = core.getMark(row * core.getSize() + col);
+        return mark == TicTacToeBoard.NONE ? EMPTY : toString(mark);
+    }
+
+
+    /**
+     * Returns the number of rows and columns on the board.
+     *
+     * @return The board size.
+     */
+    public int getSize() {
+        return core.getSize();
+    }
+
+
+    /**
+     * Returns the number of marks in a row needed to win.
+     *
+     * @return The win length.
+     */
+    public int getWinLength() {
+        return core.getWinLength();
+    }
+
+
+    /**
+     * Returns the Zobrist hash of the current position.  See TicTacToeBoard.getHash.
+     *
+     * @return The hash of the marks and the player to move.
+     */
+    public long getHash() {
+        return core.getHash();
+    }
+
+
+    /**
+     * Returns the hash shared by the current position and its rotations and
+     * reflections.  See TicTacToeBoard.getCanonicalHash.
+     *
+     * @return The canonical hash.
+     */
+    public long getCanonicalHash() {
+        return core.getCanonicalHash();
+    }
+
+
+    /**
+     * Returns the primitive game core behind this model.
+     *
+     * @return The model's TicTacToeBoard.
+     */
+    public TicTacToeBoard getCore() {
+        return core;
+    }
+
+
+    /**
+     * Converts a TicTacToeBoard player or result to the model's String constant.
+     *
+     * @param value TicTacToeBoard.X, TicTacToeBoard.O or TicTacToeBoard.TIE.
+     * @return PLAYER_X, PLAYER_O or TIE.
+     */
+    private static String toString(int value) {
+        if (value == TicTacToeBoard.X) {
+            return PLAYER_X;
+        } else if (value == TicTacToeBoard.O) {
+            return PLAYER_O;
+        }
+        return TIE;
+    }
+}
+
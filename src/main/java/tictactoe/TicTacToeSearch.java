@@ -0,0 +1,479 @@
+package tictactoe;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * An alpha-beta player for boards of any size, bounded by a time limit.  The
+ * search deepens one ply at a time and plays the best move of the deepest
+ * search that finished, so it always has a move ready when time runs out.
+ *
+ * Only empty squares within RADIUS of a mark are tried, a player who can win
+ * at once does, and a player facing one winning square blocks it, so large
+ * boards branch little.  Positions are looked up in a transposition table by
+ * their Zobrist hash, moves are ordered by the table's best move and then by a
+ * history of the moves that caused cutoffs, and the positions at the horizon are
+ * scored by counting, for every K-long window of every line, the marks of a
+ * player whose window the other player hasn't blocked.
+ *
+ * A search stops when its time is up or its thread is interrupted, so it can be
+ * cancelled by interrupting it.  The classic 3x3 board is played perfectly by
+ * TicTacToeSolver instead.
+ *
+ * Note: Like every strategy, one TicTacToeSearch can be shared by many threads;
+ * each thread keeps its own table and scratch board between searches.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeSearch implements TicTacToeStrategy {
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 1000;
+
+    private static final int RADIUS = 2;  // moves are tried at most this far from a mark
+    private static final int WIN = 1 << 24;  // the value of a won position, less the plies it takes
+    private static final int INFINITY = WIN + 1;
+    private static final int TABLE_BITS = 18;  // log2 of the transposition table's entries
+    private static final int TIME_CHECK_INTERVAL = 16;  // nodes between clock reads
+
+    // kinds of bounds in the transposition table
+    private static final int EXACT = 0;
+    private static final int LOWER = 1;
+    private static final int UPPER = 2;
+
+    private static final ThreadLocal<State> STATES = ThreadLocal.withInitial(State::new);
+
+    private final long timeLimitNanos;
+    private final int maxDepth;  // or 0 for no limit
+
+    /**
+     * Thrown, without a stack trace, when a search runs out of time.
+     */
+    private static final class Timeout extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        static final Timeout INSTANCE = new Timeout();
+
+        /**
+         * Creates the timeout.
+         */
+        private Timeout() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * One thread's search: a copy of the position, the squares near a mark,
+     * the moves of every ply on one stack, and the tables kept between searches.
+     */
+    private static final class State {
+        TicTacToeBoard board;  // the searched position; moves are played and taken back on it
+        int[] near = new int[0];  // near[square] = the number of marks within RADIUS
+        int numMarks;
+        int[] moves = new int[256];  // the moves of every ply being searched, ply after ply
+        int[] order = new int[256];  // the ordering score of each move on the stack
+        int top;  // the end of the stack
+        int[] history = new int[0];  // history[square] = the cutoffs the square caused, weighted by depth
+        long[] tableKeys = new long[1 << TABLE_BITS];
+        long[] tableData = new long[1 << TABLE_BITS];  // value, move, depth and bound, packed by pack()
+        long[] weights = new long[0];  // weights[count] = the score of a window with count marks of one player
+
+        long deadline;
+        int nodes;
+        int rootMove;  // the best move found at the root by the search in progress
+
+        /**
+         * Prepares the state to search a position.
+         *
+         * @param position The position to search; copied.
+         */
+        void reset(TicTacToeBoard position) {
+            int size = position.getSize();
+            int winLength = position.getWinLength();
+            if (board == null || board.getSize() != size || board.getWinLength() != winLength) {
+                board = new TicTacToeBoard(size, winLength);
+                near = new int[size * size];
+                history = new int[size * size];
+                Arrays.fill(tableKeys, 0);
+                weights = new long[winLength + 1];
+                for (int count = 1; count <= winLength; count++) {
+                    weights[count] = 1L << Math.min(4 * count, 40);
+                }
+            } else {
+                Arrays.fill(near, 0);
+                for (int square = 0; square < history.length; square++) history[square] >>= 2;  // age the history
+            }
+            board.copyFrom(position);
+            numMarks = 0;
+            for (int square = 0; square < board.getNumSquares(); square++) {
+                if (!board.isEmpty(square)) mark(square, 1);
+            }
+            top = 0;
+            nodes = 0;
+        }
+
+        /**
+         * Counts a mark placed on or taken off a square in the squares near it.
+         *
+         * @param square The square.
+         * @param change 1 if the mark was placed, -1 if it was taken off.
+         */
+        void mark(int square, int change) {
+            int size = board.getSize();
+            int row = square / size;
+            int col = square % size;
+            for (int r = Math.max(0, row - RADIUS); r <= Math.min(size - 1, row + RADIUS); r++) {
+                for (int c = Math.max(0, col - RADIUS); c <= Math.min(size - 1, col + RADIUS); c++) {
+                    near[r * size + c] += change;
+                }
+            }
+            numMarks += change;
+        }
+
+        /**
+         * Makes room for more moves on the stack.
+         *
+         * @param count The number of moves about to be pushed.
+         */
+        void reserve(int count) {
+            if (top + count > moves.length) {
+                int capacity = Math.max(2 * moves.length, top + count);
+                moves = Arrays.copyOf(moves, capacity);
+                order = Arrays.copyOf(order, capacity);
+            }
+        }
+    }
+
+    /**
+     * Creates a player that thinks for DEFAULT_TIME_LIMIT_MILLIS per move.
+     */
+    public TicTacToeSearch() {
+        this(DEFAULT_TIME_LIMIT_MILLIS, 0);
+    }
+
+    /**
+     * Creates a player.
+     *
+     * @param timeLimitMillis The longest time to think per move, or 0 for no limit.
+     * @param maxDepth The deepest search in plies, or 0 for no limit.
+     */
+    public TicTacToeSearch(long timeLimitMillis, int maxDepth) {
+        if (timeLimitMillis <= 0 && maxDepth <= 0) {
+            throw new IllegalArgumentException("a search needs a time or depth limit");
+        }
+        this.timeLimitNanos = timeLimitMillis * 1_000_000;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Forgets what the calling thread's searches have learned, its
+     * transposition table and move history, so its next search starts cold.
+     */
+    static void reset() {
+        STATES.get().board = null;  // rebuilt with an empty table by the next search
+    }
+
+    /**
+     * Chooses the best move of the deepest search finished within the time limit.
+     */
+    public int chooseMove(TicTacToeBoard board, SplittableRandom random) {
+        if (TicTacToeSolver.supports(board)) return TicTacToeSolver.bestMove(board);
+        State state = STATES.get();
+        state.deadline = timeLimitNanos > 0 ? System.nanoTime() + timeLimitNanos : Long.MAX_VALUE;
+        state.reset(board);
+
+        // play the first candidate if even the shallowest search runs out of time
+        int best = generateMoves(state) > 0 ? state.moves[0] : TicTacToeSolver.NO_MOVE;
+        state.top = 0;
+        int numFree = board.getNumFreeSquares();
+        for (int depth = 1; maxDepth <= 0 || depth <= maxDepth; depth++) {
+            int value;
+            try {
+                state.rootMove = TicTacToeSolver.NO_MOVE;
+                value = negamax(state, depth, 0, -INFINITY, INFINITY);
+            } catch (Timeout e) {
+                break;
+            }
+            if (state.rootMove != TicTacToeSolver.NO_MOVE) best = state.rootMove;
+            // stop once the game is decided or the whole game has been searched
+            if (Math.abs(value) > WIN / 2 || depth >= numFree) break;
+        }
+        return best;
+    }
+
+    /**
+     * Searches a position to a depth and returns its value for the player to
+     * move.  At the root, also sets state.rootMove to the best move.
+     *
+     * @param state The search.
+     * @param depth The number of plies left before the position is scored.
+     * @param ply The number of plies from the root.
+     * @param alpha The value the player to move is already sure of.
+     * @param beta The value the other player is already sure of.
+     * @return The value, WIN less the plies to a win for a won position, 0 for a tie.
+     */
+    private int negamax(State state, int depth, int ply, int alpha, int beta) {
+        if (++state.nodes % TIME_CHECK_INTERVAL == 0
+                && (System.nanoTime() >= state.deadline || Thread.currentThread().isInterrupted())) {
+            throw Timeout.INSTANCE;
+        }
+        TicTacToeBoard board = state.board;
+        int player = board.getPlayer();
+        int start = state.top;
+        int count = generateMoves(state);
+        int[] moves = state.moves;
+
+        // win at once if possible; otherwise block the other player's winning squares
+        int threat = TicTacToeSolver.NO_MOVE;
+        int numThreats = 0;
+        for (int i = start; i < start + count; i++) {
+            int square = moves[i];
+            if (board.isWinningMove(player, square)) {
+                state.top = start;
+                if (ply == 0) state.rootMove = square;
+                return WIN - ply - 1;
+            }
+            if (board.isWinningMove(player ^ 1, square)) {
+                threat = square;
+                numThreats++;
+            }
+        }
+        if (numThreats > 1) {  // only one can be blocked
+            state.top = start;
+            if (ply == 0) state.rootMove = threat;
+            return -(WIN - ply - 2);
+        }
+        if (numThreats == 1) {
+            moves[start] = threat;
+            count = 1;
+            state.top = start + 1;
+        }
+        if (depth == 0) {
+            state.top = start;
+            return evaluate(state);
+        }
+
+        // use what an earlier search found about the position
+        long hash = board.getHash();
+        int slot = (int) hash & ((1 << TABLE_BITS) - 1);
+        int tableMove = TicTacToeSolver.NO_MOVE;
+        if (state.tableKeys[slot] == hash) {
+            long data = state.tableData[slot];
+            tableMove = moveOf(data);
+            if (ply > 0 && depthOf(data) >= depth) {
+                int value = fromTable(valueOf(data), ply);
+                int bound = boundOf(data);
+                if (bound == EXACT || (bound == LOWER && value >= beta) || (bound == UPPER && value <= alpha)) {
+                    state.top = start;
+                    return value;
+                }
+            }
+        }
+
+        int[] order = state.order;
+        int[] history = state.history;
+        for (int i = start; i < start + count; i++) {
+            order[i] = moves[i] == tableMove ? Integer.MAX_VALUE : history[moves[i]];
+        }
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = moves[start];
+        for (int i = start; i < start + count; i++) {
+            // bring the best-ordered remaining move forward
+            int pick = i;
+            for (int j = i + 1; j < start + count; j++) {
+                if (order[j] > order[pick]) pick = j;
+            }
+            int square = moves[pick];
+            moves[pick] = moves[i];
+            order[pick] = order[i];
+            moves[i] = square;
+
+            int winner = board.play(square);
+            state.mark(square, 1);
+            int value = winner == TicTacToeBoard.TIE ? 0 : -negamax(state, depth - 1, ply + 1, -beta, -alpha);
+            state.mark(square, -1);
+            board.undo(square);
+
+            if (value > best) {
+                best = value;
+                bestMove = square;
+                if (ply == 0) state.rootMove = square;
+            }
+            if (value > alpha) alpha = value;
+            if (alpha >= beta) {
+                history[square] += depth * depth;
+                break;
+            }
+        }
+        state.top = start;
+
+        int bound = best <= originalAlpha ? UPPER : best >= beta ? LOWER : EXACT;
+        state.tableKeys[slot] = hash;
+        state.tableData[slot] = pack(toTable(best, ply), bestMove, depth, bound);
+        return best;
+    }
+
+    /**
+     * Pushes the moves worth trying onto the stack: the empty squares near a
+     * mark, the center of an empty board, or every empty square if none is
+     * near a mark.
+     *
+     * @param state The search.
+     * @return The number of moves pushed.
+     */
+    private static int generateMoves(State state) {
+        TicTacToeBoard board = state.board;
+        int numSquares = board.getNumSquares();
+        state.reserve(board.getNumFreeSquares());
+        int start = state.top;
+        if (state.numMarks == 0) {
+            int size = board.getSize();
+            state.moves[state.top++] = (size / 2) * size + size / 2;
+        } else {
+            int[] near = state.near;
+            int[] moves = state.moves;
+            int top = state.top;
+            for (int square = 0; square < numSquares; square++) {
+                if (near[square] > 0 && board.isEmpty(square)) moves[top++] = square;
+            }
+            if (top == start) {
+                for (int square = 0; square < numSquares; square++) {
+                    if (board.isEmpty(square)) moves[top++] = square;
+                }
+            }
+            state.top = top;
+        }
+        return state.top - start;
+    }
+
+    /**
+     * Scores a position for the player to move by sliding a K-long window along
+     * every line of the board, and adding the weight of a window's marks for the
+     * player who owns all of them.
+     *
+     * @param state The search.
+     * @return The score, well within plus or minus WIN / 2.
+     */
+    private static int evaluate(State state) {
+        TicTacToeBoard board = state.board;
+        int size = board.getSize();
+        int winLength = board.getWinLength();
+        long[] weights = state.weights;
+        long score = 0;
+        for (int d = 0; d < 4; d++) {
+            int rowStep = d == 0 ? 0 : 1;
+            int colStep = d == 0 ? 1 : d == 1 ? 0 : d == 2 ? 1 : -1;
+            // every line starts on the edge it leaves from
+            for (int edge = 0; edge < 2 * size; edge++) {
+                int row;
+                int col;
+                if (edge < size) {
+                    row = rowStep == 0 ? edge : 0;
+                    col = rowStep == 0 ? 0 : edge;
+                } else {
+                    if (d < 2) break;  // rows and columns all start on the first edge
+                    row = edge - size + 1;
+                    col = colStep > 0 ? 0 : size - 1;
+                    if (row >= size) break;
+                }
+                int countX = 0;
+                int countO = 0;
+                for (int length = 0; row >= 0 && row < size && col >= 0 && col < size;
+                     length++, row += rowStep, col += colStep) {
+                    int mark = board.getMark(row * size + col);
+                    if (mark == TicTacToeBoard.X) countX++;
+                    else if (mark == TicTacToeBoard.O) countO++;
+                    if (length >= winLength) {
+                        int dropped = board.getMark((row - winLength * rowStep) * size + col - winLength * colStep);
+                        if (dropped == TicTacToeBoard.X) countX--;
+                        else if (dropped == TicTacToeBoard.O) countO--;
+                    }
+                    if (length >= winLength - 1) {
+                        if (countO == 0) score += weights[countX];
+                        else if (countX == 0) score -= weights[countO];
+                    }
+                }
+            }
+        }
+        if (board.getPlayer() == TicTacToeBoard.O) score = -score;
+        return (int) Math.max(-(WIN / 4), Math.min(WIN / 4, score));
+    }
+
+    /**
+     * Packs a transposition table entry into a long.
+     *
+     * @param value The value of the position, as stored by toTable.
+     * @param move The best move found, or NO_MOVE.
+     * @param depth The depth searched.
+     * @param bound EXACT, LOWER or UPPER.
+     * @return The packed entry.
+     */
+    private static long pack(int value, int move, int depth, int bound) {
+        return (value & 0xffffffffL) | (long) (move & 0xffff) << 32 | (long) (depth & 0x3fff) << 48
+                | (long) bound << 62;
+    }
+
+    /**
+     * Returns the value of a packed entry.
+     *
+     * @param data The entry.
+     * @return The value, as stored by toTable.
+     */
+    private static int valueOf(long data) {
+        return (int) data;
+    }
+
+    /**
+     * Returns the best move of a packed entry.
+     *
+     * @param data The entry.
+     * @return The square, or NO_MOVE.
+     */
+    private static int moveOf(long data) {
+        int move = (int) (data >>> 32) & 0xffff;
+        return move == 0xffff ? TicTacToeSolver.NO_MOVE : move;
+    }
+
+    /**
+     * Returns the depth of a packed entry.
+     *
+     * @param data The entry.
+     * @return The depth searched.
+     */
+    private static int depthOf(long data) {
+        return (int) (data >>> 48) & 0x3fff;
+    }
+
+    /**
+     * Returns the kind of bound of a packed entry.
+     *
+     * @param data The entry.
+     * @return EXACT, LOWER or UPPER.
+     */
+    private static int boundOf(long data) {
+        return (int) (data >>> 62);
+    }
+
+    /**
+     * Makes the value of a won or lost position independent of the ply it was
+     * found at, counting plies from the position instead of from the root.
+     *
+     * @param value The value, counting plies from the root.
+     * @param ply The ply of the position.
+     * @return The value to store.
+     */
+    private static int toTable(int value, int ply) {
+        return value > WIN / 2 ? value + ply : value < -WIN / 2 ? value - ply : value;
+    }
+
+    /**
+     * Undoes toTable for a position found at a ply.
+     *
+     * @param value The stored value.
+     * @param ply The ply of the position.
+     * @return The value, counting plies from the root.
+     */
+    private static int fromTable(int value, int ply) {
+        return value > WIN / 2 ? value - ply : value < -WIN / 2 ? value + ply : value;
+    }
+}
@@ -0,0 +1,942 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A game server that hosts many matches at once over TCP.  One thread runs a
+ * NIO selector over every connection, and each match is just a TicTacToeBoard
+ * plus its two players, so a match costs a few hundred bytes.  Moves go
+ * through the same board logic that TicTacToeModel.setSquare uses.
+ *
+ * The protocol is line-based ASCII.  Requests:
+ *   NEW size win        create a match and play X in it; replies MATCH id
+ *   SOLO size win       create a match and play both sides; replies MATCH id
+ *   JOIN id             play O in a match created with NEW; both players get START id
+ *   MOVE id row col     mark a square for the player to move
+ *   WATCH id            follow a match without playing in it; replies
+ *                       SNAPSHOT id X|O marks, where X|O is the player to move
+ *                       and marks holds X, O or . for each square, row by row
+ *   STATS [GC]          replies STATS matches connections usedHeapBytes,
+ *                       collecting garbage first if asked and the server
+ *                       allows it
+ * Both players of a match get MOVED id row col X|O after each move, then
+ * END id X|O|T when the game ends, after which the id may be reused.  If a
+ * player disconnects, the other gets ABANDONED id.  A request that can't be
+ * carried out gets ERR id reason (id is 0 if there is none).
+ *
+ * Watchers get the same MOVED, END and ABANDONED lines as the players, but
+ * never ahead of them.  A match that is watched encodes each of those lines
+ * once into a ring of its last FEED_BYTES bytes, and every watcher keeps its
+ * own position in the ring.  After each turn of the selector the server copies
+ * what is new to the watchers of the matches that moved, at most
+ * BROADCAST_BUDGET watchers a turn, and each match at most once every
+ * BROADCAST_INTERVAL, so that thousands of watchers cost the players a bounded
+ * number of writes however fast they move.  A watcher only gets more once its
+ * socket has taken everything it was sent before; one that falls further
+ * behind than the ring reaches is sent a fresh SNAPSHOT (and the END or
+ * ABANDONED line if the game is over) instead of the moves it missed.  A
+ * connection watches one match at a time, until the match ends or it sends
+ * another WATCH.
+ *
+ * A full collection pauses every match, so clients may only ask for one on
+ * a server started with --allow-gc, as for a load test; other servers answer
+ * STATS GC like STATS.
+ *
+ * Usage: java -cp tictactoe.jar tictactoe.TicTacToeServer [--allow-gc] [port]
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeServer implements Runnable {
+    public static final int DEFAULT_PORT = 7878;
+
+    private static final int MAX_LINE = 128;  // longest request accepted
+    private static final int MAX_OUTPUT = 1 << 20;  // a client this far behind is dropped
+    private static final int FEED_BYTES = 4096;  // bytes of lines kept for a match's watchers; a power of 2
+    private static final int BROADCAST_BUDGET = 64;  // watchers sent to per turn of the selector
+    private static final long BROADCAST_INTERVAL = 50_000_000;  // nanoseconds between sends to a match's watchers
+
+    /**
+     * A match between two connections (the same one twice for SOLO).
+     */
+    private static final class Match {
+        final int id;
+        final TicTacToeBoard board;
+        final Connection[] players = new Connection[2];  // indexed by TicTacToeBoard.X and O
+        boolean ended;
+        boolean abandoned;
+
+        // for watchers, set up by the first WATCH
+        Connection[] watchers;  // may include connections that have since closed or moved on
+        int numWatchers;
+        byte[] feed;  // the last FEED_BYTES bytes of lines for watchers, as a ring
+        long fed;  // bytes ever added to the feed
+        boolean queued;  // waiting in broadcasts
+        long due;  // when its watchers may be sent to next, from System.nanoTime()
+        int nextWatcher;  // the next watcher of the broadcast under way
+        long passFed;  // fed when the broadcast under way began
+
+        Match(int id, int size, int winLength) {
+            this.id = id;
+            board = new TicTacToeBoard(size, winLength);
+        }
+    }
+
+    /**
+     * A client connection with its pending input and output.
+     */
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(MAX_LINE);
+        ByteBuffer out = ByteBuffer.allocate(256);
+        SelectionKey key;
+        int[] matchIds = new int[2];  // the ids of the matches this connection plays in
+        int numMatches;
+        boolean closed;  // its matches have been abandoned
+        Match watched;  // the match this connection watches, or null
+        long cursor;  // the watched match's feed position this connection was sent up to
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    // requests
+    private static final byte[] NEW = bytes("NEW");
+    private static final byte[] SOLO = bytes("SOLO");
+    private static final byte[] JOIN = bytes("JOIN");
+    private static final byte[] MOVE = bytes("MOVE");
+    private static final byte[] WATCH = bytes("WATCH");
+    private static final byte[] STATS_REQUEST = bytes("STATS");
+    private static final byte[] GC = bytes("GC");
+
+    // replies
+    private static final byte[] MATCH = bytes("MATCH ");
+    private static final byte[] START = bytes("START ");
+    private static final byte[] MOVED = bytes("MOVED ");
+    private static final byte[] END = bytes("END ");
+    private static final byte[] ABANDONED = bytes("ABANDONED ");
+    private static final byte[] SNAPSHOT = bytes("SNAPSHOT ");
+    private static final byte[] STATS = bytes("STATS ");
+    private static final byte[] ERR = bytes("ERR ");
+    private static final byte[] MARKS = bytes("XOT");  // indexed by TicTacToeBoard.X, O and TIE
+
+    private final ServerSocketChannel server;
+    private final Selector selector;
+    private final boolean gcAllowed;  // STATS GC collects garbage
+    private volatile boolean closing;  // close() was called
+    private volatile Thread runner;  // the thread in run(), or null
+    private Match[] matches = new Match[1024];  // indexed by match id; slot 0 is never used
+    private int[] freeIds = new int[0];  // ids of ended matches, ready for reuse
+    private int numFreeIds;
+    private int nextId = 1;  // lowest id never used
+    private int numMatches;
+    private int numConnections;
+    private final ArrayDeque<Match> broadcasts = new ArrayDeque<>();  // matches with news for watchers
+    private final ByteBuffer lines = ByteBuffer.allocate(64);  // lines being added to a feed
+
+    // the request being parsed
+    private final byte[] line = new byte[MAX_LINE];
+    private int lineLength;
+    private int linePos;
+
+    /**
+     * Opens a server on a port that doesn't let clients force a garbage
+     * collection.  Call run() to start serving.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the port can't be opened.
+     */
+    public TicTacToeServer(int port) throws IOException {
+        this(port, false);
+    }
+
+    /**
+     * Opens a server on a port.  Call run() to start serving.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @param gcAllowed true if STATS GC may collect garbage, for load tests.
+     * @throws IOException If the port can't be opened.
+     */
+    public TicTacToeServer(int port, boolean gcAllowed) throws IOException {
+        this.gcAllowed = gcAllowed;
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(port), 1024);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Returns the port the server listens on.
+     *
+     * @return The local port.
+     * @throws IOException If the port can't be read.
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) server.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Serves clients until the thread is interrupted or the server is closed,
+     * then closes every connection.
+     */
+    public void run() {
+        runner = Thread.currentThread();
+        try {
+            while (!closing && !Thread.currentThread().isInterrupted() && selector.isOpen()) {
+                long wait = untilBroadcast(System.nanoTime());
+                if (wait < 0) {
+                    selector.select();
+                } else if (wait > 0) {
+                    selector.select((wait + 999_999) / 1_000_000);
+                } else {
+                    selector.selectNow();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isReadable()) read(connection);
+                            if (key.isValid() && key.isWritable()) {
+                                flush(connection);
+                                if (connection.watched != null) catchUp(connection);
+                            }
+                        } catch (IOException e) {
+                            close(connection);
+                        }
+                    }
+                }
+                broadcast();
+            }
+        } catch (ClosedSelectorException e) {
+            // closed before run() was called
+        } catch (IOException e) {
+            System.err.println("Server stopped: " + e);
+        } finally {
+            try {
+                closeAll();
+            } catch (IOException e) {
+                System.err.println("Can't close the server: " + e);
+            }
+        }
+    }
+
+    /**
+     * Closes the server and every connection.  The channels are closed by the
+     * thread serving them, which this waits for, or here if the server isn't
+     * running.
+     *
+     * @throws IOException If the server can't be closed.
+     */
+    public void close() throws IOException {
+        closing = true;
+        selector.wakeup();
+        Thread thread = runner;
+        if (thread == null) {
+            closeAll();
+        } else if (thread != Thread.currentThread()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Closes every channel and the selector, if they aren't closed yet.
+     *
+     * @throws IOException If the server can't be closed.
+     */
+    private synchronized void closeAll() throws IOException {
+        if (!selector.isOpen()) return;
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    /**
+     * Accepts a waiting client.
+     *
+     * @throws IOException If the server socket fails.
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        numConnections++;
+    }
+
+    /**
+     * Reads what a client sent and handles every complete request.
+     *
+     * @param connection The client.
+     * @throws IOException If the connection fails or is closed.
+     */
+    private void read(Connection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        if (connection.channel.read(in) < 0) {
+            close(connection);
+            return;
+        }
+        in.flip();
+        int start = in.position();
+        for (int i = start; i < in.limit(); i++) {
+            if (in.get(i) == '\n') {
+                lineLength = i - start;
+                in.position(start);
+                in.get(line, 0, lineLength);
+                in.get();  // the newline
+                handle(connection);
+                start = i + 1;
+            }
+        }
+        in.position(start);
+        in.compact();
+        if (!in.hasRemaining()) {
+            close(connection);  // a request longer than MAX_LINE
+            return;
+        }
+        flush(connection);
+    }
+
+    /**
+     * Handles the request in line[0, lineLength).
+     *
+     * @param connection The client that sent it.
+     */
+    private void handle(Connection connection) {
+        linePos = 0;
+        if (lineLength > 0 && line[lineLength - 1] == '\r') lineLength--;
+        boolean solo = isWord(SOLO);
+        if (solo || isWord(NEW)) {
+            int size = number();
+            int winLength = number();
+            if (size < TicTacToeBoard.MIN_SIZE || size > TicTacToeBoard.MAX_SIZE
+                    || winLength < 1 || winLength > size) {
+                error(connection, 0, "bad board");
+                return;
+            }
+            int id = newMatch(size, winLength);
+            Match match = matches[id];
+            match.players[TicTacToeBoard.X] = connection;
+            addMatch(connection, id);
+            if (solo) {
+                match.players[TicTacToeBoard.O] = connection;
+            }
+            put(connection, MATCH).putNumber(connection, id).newline(connection);
+        } else if (isWord(MOVE)) {
+            int id = number();
+            int row = number();
+            int col = number();
+            move(connection, id, row, col);
+        } else if (isWord(JOIN)) {
+            int id = number();
+            Match match = match(id);
+            if (match == null || match.players[TicTacToeBoard.O] != null) {
+                error(connection, id, "no such open match");
+                return;
+            }
+            match.players[TicTacToeBoard.O] = connection;
+            if (connection != match.players[TicTacToeBoard.X]) addMatch(connection, id);
+            for (Connection player : match.players) {
+                put(player, START).putNumber(player, id).newline(player);
+            }
+            flushOther(connection, match.players[TicTacToeBoard.X]);
+        } else if (isWord(WATCH)) {
+            int id = number();
+            Match match = match(id);
+            if (match == null) {
+                error(connection, id, "no such match");
+                return;
+            }
+            watch(connection, match);
+        } else if (isWord(STATS_REQUEST)) {
+            if (isWord(GC) && gcAllowed) System.gc();
+            Runtime runtime = Runtime.getRuntime();
+            put(connection, STATS).putNumber(connection, numMatches).space(connection)
+                    .putNumber(connection, numConnections).space(connection)
+                    .putNumber(connection, runtime.totalMemory() - runtime.freeMemory()).newline(connection);
+        } else {
+            error(connection, 0, "unknown request");
+        }
+    }
+
+    /**
+     * Plays a move for a client and tells both players.
+     *
+     * @param connection The client making the move.
+     * @param id The match id.
+     * @param row The row of the square.
+     * @param col The column of the square.
+     */
+    private void move(Connection connection, int id, int row, int col) {
+        Match match = match(id);
+        if (match == null || match.players[TicTacToeBoard.O] == null) {
+            error(connection, id, "no such match in progress");
+            return;
+        }
+        TicTacToeBoard board = match.board;
+        int player = board.getPlayer();
+        if (match.players[player] != connection) {
+            error(connection, id, "not your turn");
+            return;
+        }
+        int size = board.getSize();
+        int square = row * size + col;
+        if (row < 0 || row >= size || col < 0 || col >= size || !board.isLegal(square)) {
+            error(connection, id, "illegal move");
+            return;
+        }
+        long start = TicTacToeMetrics.WIN_CHECK.start();
+        int winner = board.play(square);
+        TicTacToeMetrics.WIN_CHECK.stop(start);
+        TicTacToeMetrics.MOVES.increment();
+        if (winner != TicTacToeBoard.NONE) TicTacToeMetrics.GAMES.increment();
+        Connection other = match.players[player ^ 1];
+        for (Connection to = connection; ; to = other) {
+            put(to, MOVED).putNumber(to, id).space(to).putNumber(to, row).space(to).putNumber(to, col).space(to);
+            to.out.put(MARKS[player]);
+            newline(to);
+            if (winner != TicTacToeBoard.NONE) {
+                put(to, END).putNumber(to, id).space(to);
+                to.out.put(MARKS[winner]);
+                newline(to);
+            }
+            if (to == other) break;
+        }
+        if (match.numWatchers > 0) {
+            lines.clear();
+            lines.put(MOVED);
+            putNumber(lines, id).put((byte) ' ');
+            putNumber(lines, row).put((byte) ' ');
+            putNumber(lines, col).put((byte) ' ').put(MARKS[player]).put((byte) '\n');
+            if (winner != TicTacToeBoard.NONE) {
+                lines.put(END);
+                putNumber(lines, id).put((byte) ' ').put(MARKS[winner]).put((byte) '\n');
+            }
+            feed(match);
+        }
+        if (winner != TicTacToeBoard.NONE) endMatch(id);
+        flushOther(connection, other);
+    }
+
+    /**
+     * Makes a connection a watcher of a match.  It is sent the match as it
+     * stands with the next broadcast of the match, so that many watchers
+     * arriving at once are sent to no faster than moves are.
+     *
+     * @param connection The client.
+     * @param match The match to watch.
+     */
+    private void watch(Connection connection, Match match) {
+        if (match.feed == null) {
+            match.feed = new byte[FEED_BYTES];
+            match.watchers = new Connection[4];
+            match.due = System.nanoTime();
+        }
+        if (connection.watched != match) {
+            if (match.numWatchers == match.watchers.length) {
+                match.watchers = Arrays.copyOf(match.watchers, 2 * match.numWatchers);
+            }
+            match.watchers[match.numWatchers++] = connection;
+            connection.watched = match;
+        }
+        connection.cursor = match.fed - match.feed.length - 1;  // too far behind: sent a snapshot
+        queue(match);
+    }
+
+    /**
+     * Queues the whole state of a match for a watcher.
+     *
+     * @param watcher The client.
+     * @param match The match.
+     */
+    private void snapshot(Connection watcher, Match match) {
+        TicTacToeBoard board = match.board;
+        int numSquares = board.getNumSquares();
+        put(watcher, SNAPSHOT).putNumber(watcher, match.id).space(watcher);
+        reserve(watcher, numSquares + 2);
+        ByteBuffer out = watcher.out;
+        out.put(MARKS[board.getPlayer()]).put((byte) ' ');
+        for (int square = 0; square < numSquares; square++) {
+            int mark = board.getMark(square);
+            out.put(mark == TicTacToeBoard.NONE ? (byte) '.' : MARKS[mark]);
+        }
+        newline(watcher);
+        if (match.abandoned) {
+            put(watcher, ABANDONED).putNumber(watcher, match.id).newline(watcher);
+        } else if (board.getWinner() != TicTacToeBoard.NONE) {
+            put(watcher, END).putNumber(watcher, match.id).space(watcher);
+            watcher.out.put(MARKS[board.getWinner()]);
+            newline(watcher);
+        }
+    }
+
+    /**
+     * Adds the lines in the lines buffer to a match's feed and queues the match
+     * to be broadcast.
+     *
+     * @param match The match.
+     */
+    private void feed(Match match) {
+        byte[] feed = match.feed;
+        lines.flip();
+        int length = lines.remaining();
+        int at = (int) match.fed & (feed.length - 1);
+        int first = Math.min(length, feed.length - at);
+        lines.get(feed, at, first).get(feed, 0, length - first);
+        match.fed += length;
+        queue(match);
+    }
+
+    /**
+     * Queues a match to be broadcast, unless it already is.
+     *
+     * @param match The match.
+     */
+    private void queue(Match match) {
+        if (!match.queued) {
+            match.queued = true;
+            broadcasts.add(match);
+        }
+    }
+
+    /**
+     * Sends what is new in the queued matches that are due to their watchers,
+     * up to BROADCAST_BUDGET watchers, and leaves the rest for the next turn.
+     * Matches are queued in about the order they fall due.
+     */
+    private void broadcast() {
+        int budget = BROADCAST_BUDGET;
+        long now = System.nanoTime();
+        while (budget > 0 && untilBroadcast(now) == 0) {
+            Match match = broadcasts.peek();
+            if (match.nextWatcher == 0) {
+                match.passFed = match.fed;
+                match.due = now + BROADCAST_INTERVAL;
+            }
+            while (match.nextWatcher < match.numWatchers && budget > 0) {
+                Connection watcher = match.watchers[match.nextWatcher];
+                if (watcher.closed || watcher.watched != match) {
+                    match.watchers[match.nextWatcher] = match.watchers[--match.numWatchers];
+                    match.watchers[match.numWatchers] = null;
+                    continue;
+                }
+                catchUp(watcher);
+                match.nextWatcher++;
+                budget--;
+            }
+            if (match.nextWatcher < match.numWatchers) break;
+            broadcasts.poll();
+            match.nextWatcher = 0;
+            if (match.fed != match.passFed) {
+                broadcasts.add(match);  // it moved again while its watchers were being sent to
+            } else {
+                match.queued = false;
+                if (match.ended) {
+                    // watchers still sending catch up from their own reference
+                    match.watchers = null;
+                    match.numWatchers = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns how long until the next broadcast is due.
+     *
+     * @param now The time, from System.nanoTime().
+     * @return The nanoseconds to wait, 0 if a broadcast is due or under way, or
+     *         -1 if none is queued.
+     */
+    private long untilBroadcast(long now) {
+        Match next = broadcasts.peek();
+        if (next == null) return -1;
+        return next.nextWatcher > 0 ? 0 : Math.max(0, next.due - now);
+    }
+
+    /**
+     * Sends a watcher what its match has fed since it was last sent anything,
+     * or a snapshot if that is no longer in the feed.  Does nothing while the
+     * watcher's socket has yet to take what it was sent before.
+     *
+     * @param watcher The client.
+     */
+    private void catchUp(Connection watcher) {
+        Match match = watcher.watched;
+        if (watcher.closed || watcher.out.position() > 0) return;
+        if (watcher.cursor < match.fed) {
+            byte[] feed = match.feed;
+            int length = (int) Math.min(match.fed - watcher.cursor, Integer.MAX_VALUE);
+            if (length > feed.length) {
+                snapshot(watcher, match);
+            } else {
+                reserve(watcher, length);
+                int at = (int) watcher.cursor & (feed.length - 1);
+                int first = Math.min(length, feed.length - at);
+                watcher.out.put(feed, at, first).put(feed, 0, length - first);
+            }
+            watcher.cursor = match.fed;
+        }
+        if (match.ended) watcher.watched = null;
+        if (watcher.out.position() > 0) {
+            try {
+                flush(watcher);
+            } catch (IOException e) {
+                close(watcher);
+            }
+        }
+    }
+
+    /**
+     * Creates a match, reusing the id of an ended match if there is one.
+     *
+     * @param size The number of rows and columns.
+     * @param winLength The number of marks in a row needed to win.
+     * @return The new match's id.
+     */
+    private int newMatch(int size, int winLength) {
+        int id;
+        if (numFreeIds > 0) {
+            id = freeIds[--numFreeIds];
+        } else {
+            id = nextId++;
+            if (id == matches.length) matches = Arrays.copyOf(matches, 2 * matches.length);
+        }
+        matches[id] = new Match(id, size, winLength);
+        numMatches++;
+        return id;
+    }
+
+    /**
+     * Ends a match and frees its id.
+     *
+     * @param id The match id.
+     */
+    private void endMatch(int id) {
+        Match match = matches[id];
+        matches[id] = null;
+        match.ended = true;
+        numMatches--;
+        Connection x = match.players[TicTacToeBoard.X];
+        Connection o = match.players[TicTacToeBoard.O];
+        removeMatch(x, id);
+        if (o != null && o != x) removeMatch(o, id);
+        if (numFreeIds == freeIds.length) freeIds = Arrays.copyOf(freeIds, Math.max(16, 2 * numFreeIds));
+        freeIds[numFreeIds++] = id;
+    }
+
+    /**
+     * Records that a connection plays in a match.
+     *
+     * @param connection The connection.
+     * @param id The match id.
+     */
+    private static void addMatch(Connection connection, int id) {
+        if (connection.numMatches == connection.matchIds.length) {
+            connection.matchIds = Arrays.copyOf(connection.matchIds, 2 * connection.numMatches);
+        }
+        connection.matchIds[connection.numMatches++] = id;
+    }
+
+    /**
+     * Records that a connection no longer plays in a match.
+     *
+     * @param connection The connection.
+     * @param id The match id.
+     */
+    private static void removeMatch(Connection connection, int id) {
+        int[] ids = connection.matchIds;
+        for (int i = 0; i < connection.numMatches; i++) {
+            if (ids[i] == id) {
+                ids[i] = ids[--connection.numMatches];
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns a match by id.
+     *
+     * @param id The match id.
+     * @return The match, or null if there is none.
+     */
+    private Match match(int id) {
+        return id > 0 && id < matches.length ? matches[id] : null;
+    }
+
+    /**
+     * Closes a connection and abandons its matches.
+     *
+     * @param connection The connection to close.
+     */
+    private void close(Connection connection) {
+        if (connection.closed) return;
+        connection.closed = true;
+        try {
+            connection.channel.close();
+        } catch (IOException e) {
+            // already closed
+        }
+        numConnections--;
+        while (connection.numMatches > 0) {
+            int id = connection.matchIds[connection.numMatches - 1];
+            Match match = matches[id];
+            for (Connection player : match.players) {
+                if (player != null && player != connection) {
+                    put(player, ABANDONED).putNumber(player, id).newline(player);
+                    flushOther(connection, player);
+                }
+            }
+            if (match.ended) continue;  // the other player failed and was closed, abandoning it
+            match.abandoned = true;
+            if (match.numWatchers > 0) {
+                lines.clear();
+                lines.put(ABANDONED);
+                putNumber(lines, id).put((byte) '\n');
+                feed(match);
+            }
+            endMatch(id);
+        }
+    }
+
+    /**
+     * Writes as much pending output to a client as the socket takes, and asks
+     * to be told when it can take the rest.
+     *
+     * @param connection The client.
+     * @throws IOException If the connection fails.
+     */
+    private void flush(Connection connection) throws IOException {
+        ByteBuffer out = connection.out;
+        if (out.position() > 0) {
+            out.flip();
+            connection.channel.write(out);
+            out.compact();
+        }
+        if (connection.key.isValid()) {
+            connection.key.interestOps(out.position() > 0
+                    ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Flushes the output of the other player of a match, if it is another client.
+     *
+     * @param connection The client whose request is being handled.
+     * @param other The other player, or null.
+     */
+    private void flushOther(Connection connection, Connection other) {
+        if (other == null || other == connection || other.closed) return;
+        try {
+            flush(other);
+        } catch (IOException e) {
+            close(other);
+        }
+    }
+
+    /**
+     * Queues an error reply.
+     *
+     * @param connection The client.
+     * @param id The match id, or 0.
+     * @param reason Why the request failed.
+     */
+    private void error(Connection connection, int id, String reason) {
+        put(connection, ERR).putNumber(connection, id).space(connection);
+        put(connection, bytes(reason)).newline(connection);
+    }
+
+    /**
+     * Makes room for more output, growing the buffer or dropping a client that
+     * has stopped reading.
+     *
+     * @param connection The client.
+     * @param bytes The number of bytes about to be written.
+     */
+    private static void reserve(Connection connection, int bytes) {
+        ByteBuffer out = connection.out;
+        if (out.remaining() >= bytes) return;
+        int capacity = out.capacity();
+        while (capacity - out.position() < bytes) capacity *= 2;
+        if (capacity > MAX_OUTPUT) {
+            // the client is too far behind: drop its output and let the next read or write fail
+            out.clear();
+            try {
+                connection.channel.close();
+            } catch (IOException e) {
+                // already closed
+            }
+            return;
+        }
+        ByteBuffer bigger = ByteBuffer.allocate(capacity);
+        out.flip();
+        bigger.put(out);
+        connection.out = bigger;
+    }
+
+    /**
+     * Queues bytes for a client.
+     *
+     * @param connection The client.
+     * @param bytes The bytes.
+     * @return This server, to chain output calls.
+     */
+    private TicTacToeServer put(Connection connection, byte[] bytes) {
+        reserve(connection, bytes.length + 32);
+        connection.out.put(bytes);
+        return this;
+    }
+
+    /**
+     * Queues a number in decimal for a client.
+     *
+     * @param connection The client.
+     * @param value The number, at least 0.
+     * @return This server, to chain output calls.
+     */
+    private TicTacToeServer putNumber(Connection connection, long value) {
+        reserve(connection, 20);
+        putNumber(connection.out, value);
+        return this;
+    }
+
+    /**
+     * Writes a number in decimal into a buffer with room for it.
+     *
+     * @param out The buffer.
+     * @param value The number, at least 0.
+     * @return The buffer.
+     */
+    private static ByteBuffer putNumber(ByteBuffer out, long value) {
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) digits++;
+        int end = out.position() + digits;
+        for (int i = end - 1; i >= out.position(); i--) {
+            out.put(i, (byte) ('0' + value % 10));
+            value /= 10;
+        }
+        return out.position(end);
+    }
+
+    /**
+     * Queues a space for a client.
+     *
+     * @param connection The client.
+     * @return This server, to chain output calls.
+     */
+    private TicTacToeServer space(Connection connection) {
+        reserve(connection, 1);
+        connection.out.put((byte) ' ');
+        return this;
+    }
+
+    /**
+     * Queues a newline for a client.
+     *
+     * @param connection The client.
+     * @return This server, to chain output calls.
+     */
+    private TicTacToeServer newline(Connection connection) {
+        reserve(connection, 1);
+        connection.out.put((byte) '\n');
+        return this;
+    }
+
+    /**
+     * Consumes the next word of the request being parsed if it is the given word.
+     *
+     * @param word The expected word.
+     * @return true if the word was there.
+     */
+    private boolean isWord(byte[] word) {
+        skipSpaces();
+        int end = linePos + word.length;
+        if (end > lineLength || (end < lineLength && line[end] != ' ')) return false;
+        for (int i = 0; i < word.length; i++) {
+            if (line[linePos + i] != word[i]) return false;
+        }
+        linePos = end;
+        return true;
+    }
+
+    /**
+     * Returns the next number of the request being parsed.
+     *
+     * @return The number, or -1 if the next word is not a number.
+     */
+    private int number() {
+        skipSpaces();
+        int value = 0;
+        int digits = 0;
+        while (linePos < lineLength && line[linePos] >= '0' && line[linePos] <= '9' && digits < 9) {
+            value = value * 10 + line[linePos++] - '0';
+            digits++;
+        }
+        return digits == 0 ? -1 : value;
+    }
+
+    /**
+     * Skips spaces in the request being parsed.
+     */
+    private void skipSpaces() {
+        while (linePos < lineLength && line[linePos] == ' ') linePos++;
+    }
+
+    /**
+     * Returns the ASCII bytes of a String.
+     *
+     * @param text The text.
+     * @return Its bytes.
+     */
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Runs a server until the process is stopped.
+     *
+     * @param args The options described in the class comment.
+     * @throws IOException If the port can't be opened.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        boolean gcAllowed = false;
+        for (String arg : args) {
+            if (arg.equals("--allow-gc")) {
+                gcAllowed = true;
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("unknown option: " + arg);
+            } else {
+                port = Integer.parseInt(arg);
+            }
+        }
+        TicTacToeServer server = new TicTacToeServer(port, gcAllowed);
+        System.out.println("TicTacToe server listening on port " + server.getPort());
+        server.run();
+    }
+}
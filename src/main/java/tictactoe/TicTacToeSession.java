@@ -0,0 +1,389 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Saves a TicTacToeModel's session, meaning the game in progress with the moves
+ * that can be redone, the starting player and the score, and restores it when
+ * the game is started again.
+ *
+ * A session is one fixed-layout little-endian record of recordBytes(size)
+ * bytes, written without Java serialization:
+ *
+ *   offset  type               field
+ *        0  int                MAGIC
+ *        4  short              VERSION
+ *        6  byte               board size
+ *        7  byte               win length
+ *        8  int                X's wins
+ *       12  int                O's wins
+ *       16  byte               the player who started the game, X or O as in TicTacToeBoard
+ *       17  byte               the player who starts the next games
+ *       18  short              the number of moves in effect
+ *       20  short              the number of moves recorded, counting moves that can be redone
+ *       22  short[size * size] the square index of each recorded move, then zeros
+ *      end  int                CRC32C of every byte before it
+ *
+ * The position is stored as its moves, from which it is replayed, so a
+ * restored game can be undone as far back as the original.
+ *
+ * Registered as a listener of its model, a session captures the model into a
+ * buffer after every change, on the model's thread.  save() writes the last
+ * capture to a temporary file, forces it to disk and renames it over the
+ * session file, so the file always holds a whole session; saveEvery() does
+ * that in the background whenever there is a new capture.
+ *
+ * Records of one board size all have the same length, so large numbers of
+ * games, e.g. the matches of a server or the games of a simulation, can be
+ * checkpointed by encoding each board into one buffer at index * recordBytes
+ * and writing the buffer at once with write().
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeSession implements TicTacToeListener, AutoCloseable {
+    static final int MAGIC = 0x54545453;  // "TTTS"
+    static final int VERSION = 1;
+
+    // field offsets in a record
+    private static final int SIZE = 6;
+    private static final int WIN_LENGTH = 7;
+    private static final int WINS_X = 8;
+    private static final int WINS_O = 12;
+    private static final int GAME_STARTER = 16;
+    private static final int STARTING_PLAYER = 17;
+    private static final int NUM_MOVES = 18;
+    private static final int HISTORY_LENGTH = 20;
+    private static final int MOVES = 22;
+
+    private final Path path;
+    private final TicTacToeModel model;
+    private final int size;
+    private final int winLength;
+    private final int recordBytes;
+    private final int[] squares;  // scratch for captures, only touched on the model's thread
+
+    // the model as of its last change, guarded by this
+    private final ByteBuffer capture;
+    private boolean changed;  // the capture hasn't been saved
+
+    private final Object saveLock = new Object();  // held while saving
+    private final ByteBuffer saving;  // the capture being saved, guarded by saveLock
+    private ScheduledExecutorService saver;
+
+    /**
+     * Creates a session of a model, saved to a file.
+     *
+     * @param path The session file.
+     * @param model The model.
+     */
+    public TicTacToeSession(Path path, TicTacToeModel model) {
+        this.path = path;
+        this.model = model;
+        size = model.getSize();
+        winLength = model.getWinLength();
+        recordBytes = recordBytes(size);
+        squares = new int[size * size];
+        capture = ByteBuffer.allocate(recordBytes);
+        saving = ByteBuffer.allocate(recordBytes);
+    }
+
+    /**
+     * Returns the length of a record for a board size.
+     *
+     * @param size The number of rows and columns.
+     * @return The record length in bytes.
+     */
+    public static int recordBytes(int size) {
+        return MOVES + 2 * size * size + 4;
+    }
+
+    /**
+     * Puts the model in the state saved in the session file, if there is one.
+     * Must be called on the model's thread.
+     *
+     * @return true if a session was restored, false if there is no session file.
+     * @throws IOException If the file can't be read, or holds no session of
+     *                     this board; the model is left as it was.
+     */
+    public boolean restore() throws IOException {
+        ByteBuffer in = ByteBuffer.allocate(recordBytes);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != recordBytes) throw new IOException(path + " is not a session of this board");
+            while (in.hasRemaining() && channel.read(in) >= 0) {
+                // read the whole record
+            }
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        ByteBuffer record = check(in.flip(), size, winLength);
+        if (record == null) throw new IOException(path + " is not a session of this board");
+        int historyLength = readMoves(record, squares);
+        try {
+            model.restore(record.get(GAME_STARTER), record.get(STARTING_PLAYER), squares,
+                    record.getShort(NUM_MOVES), historyLength, record.getInt(WINS_X), record.getInt(WINS_O));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(path + " holds an impossible game: " + e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Writes the model as of its last change to the session file, if it has
+     * changed since it was last saved.  Thread-safe.
+     *
+     * @throws IOException If the file can't be written.
+     */
+    public void save() throws IOException {
+        synchronized (saveLock) {
+            synchronized (this) {
+                if (!changed) return;
+                saving.clear();
+                saving.put(capture.duplicate()).flip();
+                changed = false;
+            }
+            try {
+                write(path, saving);
+            } catch (IOException e) {
+                synchronized (this) {
+                    changed = true;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Saves the session in the background every given number of seconds,
+     * whenever the model has changed.
+     *
+     * @param seconds The time between saves.
+     */
+    public synchronized void saveEvery(long seconds) {
+        if (saver != null) saver.shutdownNow();
+        saver = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "TicTacToe session");
+            thread.setDaemon(true);
+            return thread;
+        });
+        saver.scheduleWithFixedDelay(() -> {
+            try {
+                save();
+            } catch (IOException e) {
+                System.err.println("Can't save session: " + e);
+            }
+        }, seconds, seconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops saving in the background and saves the last change.
+     *
+     * @throws IOException If the file can't be written.
+     */
+    public void close() throws IOException {
+        synchronized (this) {
+            if (saver != null) saver.shutdownNow();
+            saver = null;
+        }
+        save();
+    }
+
+    /**
+     * Captures the model after a change.  Runs on the model's thread.
+     */
+    private void capture() {
+        TicTacToeBoard core = model.getCore();
+        int numMoves = model.getNumMoves();
+        int historyLength = model.getHistory(squares);
+        synchronized (this) {
+            capture.clear();
+            encode(capture, size, winLength, core.getPlayer() ^ (numMoves & 1), core.getStartingPlayer(), squares,
+                    numMoves, historyLength, model.getNumWins(TicTacToeModel.PLAYER_X),
+                    model.getNumWins(TicTacToeModel.PLAYER_O));
+            capture.flip();
+            changed = true;
+        }
+    }
+
+    /**
+     * Captures the model.
+     */
+    public void moveApplied(int row, int col, String player) {
+        capture();
+    }
+
+    /**
+     * Captures the model.
+     */
+    public void moveUndone(int row, int col, String player) {
+        capture();
+    }
+
+    /**
+     * Captures the model.
+     */
+    public void scoreChanged(int numWinsX, int numWinsO) {
+        capture();
+    }
+
+    /**
+     * Captures the model.
+     */
+    public void gameReset() {
+        capture();
+    }
+
+    /**
+     * Captures the model.
+     */
+    public void startingPlayerChanged(String player) {
+        capture();
+    }
+
+    /**
+     * Writes the record of a game on a primitive board into a buffer, with no
+     * moves to redo and no score.  The board's starting player starts the next games.
+     *
+     * @param board The board.
+     * @param moves The squares played on it since it was cleared, in order.
+     * @param numMoves The number of moves.
+     * @param out The buffer to write to; its position moves past the record.
+     */
+    public static void encode(TicTacToeBoard board, int[] moves, int numMoves, ByteBuffer out) {
+        encode(out, board.getSize(), board.getWinLength(), board.getPlayer() ^ (numMoves & 1),
+                board.getStartingPlayer(), moves, numMoves, numMoves, 0, 0);
+    }
+
+    /**
+     * Reads the record of a game written by encode and replays it on a board.
+     *
+     * @param in The buffer to read from; its position moves past the record.
+     * @param board The board, of the record's size and win length.
+     * @param moves Filled with the squares played, in order; needs room for size * size of them.
+     * @return The number of moves.
+     * @throws IOException If the buffer holds no record of the board or an impossible game.
+     */
+    public static int decode(ByteBuffer in, TicTacToeBoard board, int[] moves) throws IOException {
+        ByteBuffer record = check(in, board.getSize(), board.getWinLength());
+        if (record == null) throw new IOException("not a session of this board");
+        in.position(in.position() + record.capacity());
+        readMoves(record, moves);
+        int numMoves = record.getShort(NUM_MOVES);
+        board.setStartingPlayer(record.get(GAME_STARTER));
+        board.clear();
+        for (int i = 0; i < numMoves; i++) {
+            if (!board.isLegal(moves[i])) throw new IOException("move " + (i + 1) + " can't be played");
+            board.play(moves[i]);
+        }
+        board.setStartingPlayer(record.get(STARTING_PLAYER));
+        return numMoves;
+    }
+
+    /**
+     * Replaces a file with the contents of a buffer in one step: the buffer is
+     * written to a temporary file beside it, forced to disk and renamed over it.
+     *
+     * @param path The file.
+     * @param data The bytes to write, from the buffer's position to its limit.
+     * @throws IOException If the file can't be written.
+     */
+    public static void write(Path path, ByteBuffer data) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Writes a record into a buffer.
+     *
+     * @param out The buffer to write to; its position moves past the record.
+     * @param size The board size.
+     * @param winLength The win length.
+     * @param gameStarter The player who started the game.
+     * @param startingPlayer The player who starts the next games.
+     * @param squares The squares of the moves recorded.
+     * @param numMoves The number of moves in effect.
+     * @param historyLength The number of moves recorded.
+     * @param numWinsX The number of times X has won.
+     * @param numWinsO The number of times O has won.
+     */
+    private static void encode(ByteBuffer out, int size, int winLength, int gameStarter, int startingPlayer,
+            int[] squares, int numMoves, int historyLength, int numWinsX, int numWinsO) {
+        int recordBytes = recordBytes(size);
+        ByteBuffer record = out.slice(out.position(), recordBytes).order(ByteOrder.LITTLE_ENDIAN);
+        record.putInt(0, MAGIC).putShort(4, (short) VERSION).put(SIZE, (byte) size).put(WIN_LENGTH, (byte) winLength)
+                .putInt(WINS_X, numWinsX).putInt(WINS_O, numWinsO)
+                .put(GAME_STARTER, (byte) gameStarter).put(STARTING_PLAYER, (byte) startingPlayer)
+                .putShort(NUM_MOVES, (short) numMoves).putShort(HISTORY_LENGTH, (short) historyLength);
+        for (int i = 0; i < size * size; i++) {
+            record.putShort(MOVES + 2 * i, (short) (i < historyLength ? squares[i] : 0));
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(record.slice(0, recordBytes - 4));
+        record.putInt(recordBytes - 4, (int) crc.getValue());
+        out.position(out.position() + recordBytes);
+    }
+
+    /**
+     * Returns the record at a buffer's position if it is a whole, undamaged
+     * record of a board.  Doesn't move the buffer's position.
+     *
+     * @param in The buffer.
+     * @param size The board size.
+     * @param winLength The win length.
+     * @return A little-endian view of the record, or null if there is none.
+     */
+    private static ByteBuffer check(ByteBuffer in, int size, int winLength) {
+        int recordBytes = recordBytes(size);
+        if (in.remaining() < recordBytes) return null;
+        ByteBuffer record = in.slice(in.position(), recordBytes).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32C crc = new CRC32C();
+        crc.update(record.slice(0, recordBytes - 4));
+        if (record.getInt(0) != MAGIC || record.getShort(4) != VERSION || record.get(SIZE) != (byte) size
+                || record.get(WIN_LENGTH) != (byte) winLength
+                || record.getInt(recordBytes - 4) != (int) crc.getValue()) {
+            return null;
+        }
+        int historyLength = record.getShort(HISTORY_LENGTH);
+        int numMoves = record.getShort(NUM_MOVES);
+        if (historyLength < 0 || historyLength > size * size || numMoves < 0 || numMoves > historyLength
+                || (record.get(GAME_STARTER) & ~1) != 0 || (record.get(STARTING_PLAYER) & ~1) != 0) {
+            return null;
+        }
+        return record;
+    }
+
+    /**
+     * Reads the squares of the moves recorded in a checked record.
+     *
+     * @param record The record.
+     * @param squares Filled with the squares.
+     * @return The number of moves recorded.
+     */
+    private static int readMoves(ByteBuffer record, int[] squares) {
+        int historyLength = record.getShort(HISTORY_LENGTH);
+        for (int i = 0; i < historyLength; i++) {
+            squares[i] = record.getShort(MOVES + 2 * i) & 0xffff;
+        }
+        return historyLength;
+    }
+}
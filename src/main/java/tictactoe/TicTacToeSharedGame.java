@@ -0,0 +1,304 @@
+package tictactoe;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A game that any number of threads can play, watch and reset at once without
+ * locks.  The whole position is packed into one long and published through an
+ * AtomicLong; a move reads the position, checks it, and installs the new one
+ * with a single compare-and-set, so an illegal or duplicate move is rejected
+ * against exactly the position it would have changed.  Readers take one
+ * getPosition() snapshot and decode it with the static accessors, so what they
+ * see is always a position that really existed.
+ *
+ * The position packs the squares of each player (25 bits each), the player to
+ * move, the result, the player who starts the next game, and a game number
+ * that changes on every newGame(), so a move computed for one of the last
+ * GAME_NUMBERS - 1 games can't land in a new one that happens to look the same.
+ * The game number has only the 10 bits left over, so GAME_NUMBERS is 1024: a
+ * move held back over 1024 newGame() calls can be taken for a move of the
+ * current game.  The packing limits shared games to boards of MAX_SQUARES
+ * squares (5x5).
+ *
+ * Finished games are counted in a Score, which many games may share: its
+ * counters are LongAdders, so games ending on different threads don't contend.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeSharedGame {
+    public static final int MAX_SQUARES = 25;
+    public static final int ILLEGAL = -2;  // returned by play() for a rejected move
+
+    // layout of a position
+    private static final int O_SHIFT = MAX_SQUARES;
+    private static final int PLAYER_SHIFT = 2 * MAX_SQUARES;
+    private static final int RESULT_SHIFT = PLAYER_SHIFT + 1;  // 0 in progress, else winner + 1
+    private static final int STARTER_SHIFT = RESULT_SHIFT + 2;
+    private static final int GAME_SHIFT = STARTER_SHIFT + 1;
+    private static final long SQUARES_MASK = (1L << MAX_SQUARES) - 1;
+    private static final long GAME_MASK = -1L << GAME_SHIFT;
+    public static final int GAME_NUMBERS = 1 << (Long.SIZE - GAME_SHIFT);  // 1024 before the game number wraps
+    private static final long CHANGED = -1;  // never a position: it would mark square 0 for both players
+
+    /**
+     * Totals of finished games, safe to share between games and threads.
+     */
+    public static final class Score {
+        private final LongAdder[] results = {new LongAdder(), new LongAdder(), new LongAdder()};  // by X, O, TIE
+
+        /**
+         * Returns how many games ended with a result.
+         *
+         * @param result TicTacToeBoard.X, O or TIE.
+         * @return The number of games, exact once no game is ending concurrently.
+         */
+        public long get(int result) {
+            return results[result].sum();
+        }
+
+        /**
+         * Sets every total to 0.  Games ending meanwhile may or may not be counted.
+         */
+        public void reset() {
+            for (LongAdder result : results) result.reset();
+        }
+    }
+
+    private final TicTacToeBoard rules;  // only its shared win lines are used
+    private final int size;
+    private final int numSquares;
+    private final Score score;
+    private final AtomicLong position = new AtomicLong();
+
+    /**
+     * Constructs a game with its own score.
+     *
+     * @param size The number of rows and columns, at most 5.
+     * @param winLength The number of marks in a row needed to win.
+     */
+    public TicTacToeSharedGame(int size, int winLength) {
+        this(size, winLength, new Score());
+    }
+
+    /**
+     * Constructs a game that adds its results to a shared score.  X starts.
+     *
+     * @param size The number of rows and columns, at most 5.
+     * @param winLength The number of marks in a row needed to win.
+     * @param score The score to count finished games in.
+     */
+    public TicTacToeSharedGame(int size, int winLength, Score score) {
+        if (size * size > MAX_SQUARES) {
+            throw new IllegalArgumentException("shared games are limited to " + MAX_SQUARES + " squares");
+        }
+        rules = new TicTacToeBoard(size, winLength);
+        this.size = size;
+        numSquares = size * size;
+        this.score = score;
+    }
+
+    /**
+     * Returns true if a shared game can be played on a board.
+     *
+     * @param size The number of rows and columns.
+     * @return true if the board has at most MAX_SQUARES squares.
+     */
+    public static boolean supports(int size) {
+        return size >= TicTacToeBoard.MIN_SIZE && size * size <= MAX_SQUARES;
+    }
+
+    /**
+     * Marks a square for the player to move, retrying if another thread changes
+     * the position first.
+     *
+     * @param square The square index (row * size + col).
+     * @return The result after the move (TicTacToeBoard.X, O, TIE or NONE), or
+     *         ILLEGAL if the square is off the board or taken or the game is over.
+     */
+    public int play(int square) {
+        while (true) {
+            long current = position.get();
+            if (!isLegal(current, square)) return ILLEGAL;
+            long next = move(current, square);
+            if (next != CHANGED) return getResult(next);
+        }
+    }
+
+    /**
+     * Marks a square only if the game is still exactly in the given position,
+     * e.g. the one a move was computed from.  Positions of games GAME_NUMBERS
+     * (1024) newGame() calls apart have the same game number, so a position
+     * held across that many new games can be mistaken for a current one.
+     *
+     * @param expected A position returned by getPosition().
+     * @param square The square index (row * size + col).
+     * @return true if the move was made; false if the position has changed or the move is illegal.
+     */
+    public boolean tryPlay(long expected, int square) {
+        return isLegal(expected, square) && move(expected, square) != CHANGED;
+    }
+
+    /**
+     * Installs the position after a legal move, and counts the game if the move
+     * ended it.
+     *
+     * @param expected The position the move is made in.
+     * @param square The square to mark; must be legal in expected.
+     * @return The new position, or CHANGED if the game was no longer in expected.
+     */
+    private long move(long expected, int square) {
+        int player = getPlayer(expected);
+        int shift = player == TicTacToeBoard.X ? 0 : O_SHIFT;
+        long next = (expected | 1L << (square + shift)) ^ (1L << PLAYER_SHIFT);
+        int result = TicTacToeBoard.NONE;
+        if (rules.isWin(next >>> shift & SQUARES_MASK, square)) {
+            result = player;
+        } else if (Long.bitCount(next & (SQUARES_MASK | SQUARES_MASK << O_SHIFT)) == numSquares) {
+            result = TicTacToeBoard.TIE;
+        }
+        next |= (long) (result + 1) << RESULT_SHIFT;
+        if (!position.compareAndSet(expected, next)) return CHANGED;
+        if (result != TicTacToeBoard.NONE) score.results[result].increment();
+        return next;
+    }
+
+    /**
+     * Starts a new game with the starting player to move.
+     */
+    public void newGame() {
+        long current;
+        long next;
+        do {
+            current = position.get();
+            next = newGame(current, getStartingPlayer(current));
+        } while (!position.compareAndSet(current, next));
+    }
+
+    /**
+     * Makes the other player start from the next game on.
+     */
+    public void changeStartingPlayer() {
+        position.getAndUpdate(current -> current ^ (1L << STARTER_SHIFT));
+    }
+
+    /**
+     * Returns an empty position following another.
+     *
+     * @param current The position being replaced.
+     * @param starter The player to start.
+     * @return The next game's empty position.
+     */
+    private static long newGame(long current, int starter) {
+        long game = (current & GAME_MASK) + (1L << GAME_SHIFT);
+        return game | (long) starter << STARTER_SHIFT | (long) starter << PLAYER_SHIFT;
+    }
+
+    /**
+     * Returns a snapshot of the game, to decode with the static accessors.
+     *
+     * @return The packed position.
+     */
+    public long getPosition() {
+        return position.get();
+    }
+
+    /**
+     * Returns the score this game counts its results in.
+     *
+     * @return The score, possibly shared with other games.
+     */
+    public Score getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the number of rows and columns.
+     *
+     * @return The board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns true if a square can be marked in a position.
+     *
+     * @param position A packed position.
+     * @param square The square index (row * size + col).
+     * @return true if the square is on the board and empty and the game is in progress.
+     */
+    public boolean isLegal(long position, int square) {
+        return square >= 0 && square < numSquares && getResult(position) == TicTacToeBoard.NONE
+                && getMark(position, square) == TicTacToeBoard.NONE;
+    }
+
+    /**
+     * Returns the mark at a square of a position.
+     *
+     * @param position A packed position.
+     * @param square The square index (row * size + col).
+     * @return TicTacToeBoard.X, O, or NONE if the square is empty.
+     */
+    public static int getMark(long position, int square) {
+        if ((position & (1L << square)) != 0) return TicTacToeBoard.X;
+        if ((position & (1L << (square + O_SHIFT))) != 0) return TicTacToeBoard.O;
+        return TicTacToeBoard.NONE;
+    }
+
+    /**
+     * Returns the squares a player has marked in a position.
+     *
+     * @param position A packed position.
+     * @param player TicTacToeBoard.X or O.
+     * @return A mask with bit (row * size + col) set for every square the player marked.
+     */
+    public static long getBits(long position, int player) {
+        return (position >>> (player == TicTacToeBoard.X ? 0 : O_SHIFT)) & SQUARES_MASK;
+    }
+
+    /**
+     * Returns the player to move in a position.
+     *
+     * @param position A packed position.
+     * @return TicTacToeBoard.X or O.
+     */
+    public static int getPlayer(long position) {
+        return (int) (position >>> PLAYER_SHIFT) & 1;
+    }
+
+    /**
+     * Returns the result of a position.
+     *
+     * @param position A packed position.
+     * @return TicTacToeBoard.X, O, TIE, or NONE while the game is in progress.
+     */
+    public static int getResult(long position) {
+        return (int) (position >>> RESULT_SHIFT & 3) - 1;
+    }
+
+    /**
+     * Returns the player who starts the next game of a position, who may not be
+     * the player who started its game since changeStartingPlayer() takes effect
+     * at once.
+     *
+     * @param position A packed position.
+     * @return TicTacToeBoard.X or O.
+     */
+    public static int getStartingPlayer(long position) {
+        return (int) (position >>> STARTER_SHIFT) & 1;
+    }
+
+    /**
+     * Returns the number of the game a position belongs to.  It goes up by 1 on
+     * each newGame() and wraps around to 0 after GAME_NUMBERS - 1.
+     *
+     * @param position A packed position.
+     * @return The game number.
+     */
+    public static long getGame(long position) {
+        return position >>> GAME_SHIFT;
+    }
+}
@@ -0,0 +1,272 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.IntStream;
+
+/**
+ * Plays large numbers of computer-vs-computer games without a GUI.  Games are
+ * split into batches that run in parallel on a work-stealing ForkJoinPool.  Each
+ * batch plays on its own TicTacToeBoard with its own random number generator,
+ * so workers share nothing while they play and the AWT toolkit and the model's
+ * observers are never touched.
+ *
+ * Usage: java -cp tictactoe.jar tictactoe.TicTacToeSimulation [--games N] [--size N] [--win K]
+ *        [--x STRATEGY] [--o STRATEGY] [--threads N] [--seed N] [--log FILE] [--analytics SECONDS]
+ *
+ * where STRATEGY is random, greedy, solver, mcts, search or tablebase (see TicTacToeStrategy.forName).
+ *
+ * With --log, every game is appended to a TicTacToeGameLog.  Each batch encodes
+ * its games into its own buffer and appends them to the log in one write.
+ *
+ * With --analytics, every game is also added to a TicTacToeAnalytics.  Each
+ * batch fills its own aggregate and merges it when it ends; a snapshot is
+ * printed every SECONDS seconds (0 for only at the end).
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeSimulation {
+    private static final int BATCH_SIZE = 4096;  // games per task
+
+    private final int size;
+    private final int winLength;
+    private final TicTacToeStrategy[] strategies;  // indexed by TicTacToeBoard.X and O
+    private TicTacToeGameLog log;  // where games are recorded, or null
+    private TicTacToeAnalytics analytics;  // where games are counted, or null
+
+    /**
+     * The outcome of a simulation run.
+     */
+    public static final class Result {
+        public final long winsX;
+        public final long winsO;
+        public final long ties;
+        public final long elapsedNanos;
+
+        /**
+         * Creates a result.
+         *
+         * @param winsX Games won by X.
+         * @param winsO Games won by O.
+         * @param ties Games tied.
+         * @param elapsedNanos Wall-clock time taken by the run.
+         */
+        public Result(long winsX, long winsO, long ties, long elapsedNanos) {
+            this.winsX = winsX;
+            this.winsO = winsO;
+            this.ties = ties;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns the number of games played.
+         *
+         * @return winsX + winsO + ties.
+         */
+        public long getGames() {
+            return winsX + winsO + ties;
+        }
+
+        /**
+         * Returns the number of games played per second of wall-clock time.
+         *
+         * @return The throughput of the run.
+         */
+        public double getGamesPerSecond() {
+            return getGames() * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        /**
+         * Returns a one-line summary of the result.
+         *
+         * @return The summary.
+         */
+        public String toString() {
+            return String.format("%d games: X wins %d, O wins %d, ties %d (%.0f games/s)",
+                    getGames(), winsX, winsO, ties, getGamesPerSecond());
+        }
+    }
+
+    /**
+     * Creates a simulation.
+     *
+     * @param size The number of rows and columns.
+     * @param winLength The number of marks in a row needed to win.
+     * @param strategyX The strategy playing X, who starts every game.
+     * @param strategyO The strategy playing O.
+     */
+    public TicTacToeSimulation(int size, int winLength, TicTacToeStrategy strategyX, TicTacToeStrategy strategyO) {
+        new TicTacToeBoard(size, winLength);  // fail now rather than in a worker
+        this.size = size;
+        this.winLength = winLength;
+        this.strategies = new TicTacToeStrategy[] {strategyX, strategyO};
+    }
+
+    /**
+     * Records every game played from now on in a log.
+     *
+     * @param log The log, for games of this simulation's board, or null to stop logging.
+     */
+    public void setLog(TicTacToeGameLog log) {
+        this.log = log;
+    }
+
+    /**
+     * Adds every game played from now on to running statistics.
+     *
+     * @param analytics Statistics of this simulation's board, or null to stop adding games.
+     */
+    public void setAnalytics(TicTacToeAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
+    /**
+     * Plays the given number of games on a pool with the given parallelism.
+     *
+     * @param games The number of games to play.
+     * @param threads The number of worker threads.
+     * @param seed The seed for the random number generators.
+     * @return The outcome of the games.
+     */
+    public Result run(long games, int threads, long seed) {
+        int batches = (int) ((games + BATCH_SIZE - 1) / BATCH_SIZE);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        try {
+            long[] totals = pool.submit(() -> IntStream.range(0, batches).parallel()
+                    .mapToObj(batch -> playBatch(
+                            Math.min(BATCH_SIZE, games - (long) batch * BATCH_SIZE),
+                            new SplittableRandom(seed + batch)))
+                    .reduce(new long[3], TicTacToeSimulation::add)).get();
+            return new Result(totals[TicTacToeBoard.X], totals[TicTacToeBoard.O],
+                    totals[TicTacToeBoard.TIE], System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("simulation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) throw (UncheckedIOException) e.getCause();
+            throw new IllegalStateException("simulation failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays a batch of games on a board owned by the calling worker.
+     *
+     * @param games The number of games to play.
+     * @param random The random number generator of this batch.
+     * @return The number of X wins, O wins and ties, indexed by TicTacToeBoard.X, O and TIE.
+     */
+    private long[] playBatch(long games, SplittableRandom random) {
+        TicTacToeBoard board = new TicTacToeBoard(size, winLength);
+        long[] counts = new long[3];
+        TicTacToeGameLog log = this.log;
+        int[] moves = new int[size * size];
+        ByteBuffer records = log == null ? null : ByteBuffer.allocate((int) games * log.getRecordBytes());
+        TicTacToeAnalytics analytics = this.analytics;
+        TicTacToeAnalytics batchAnalytics = analytics == null ? null : new TicTacToeAnalytics(size, winLength);
+        for (long game = 0; game < games; game++) {
+            board.clear();
+            int numMoves = 0;
+            int winner = TicTacToeBoard.NONE;
+            while (winner == TicTacToeBoard.NONE) {
+                int square = strategies[board.getPlayer()].chooseMove(board, random);
+                moves[numMoves++] = square;
+                winner = board.play(square);
+            }
+            counts[winner]++;
+            if (records != null) log.encode(winner, board.getStartingPlayer(), moves, numMoves, records);
+            if (batchAnalytics != null) batchAnalytics.addGame(winner, board.getStartingPlayer(), moves, numMoves);
+        }
+        if (batchAnalytics != null) analytics.merge(batchAnalytics);
+        if (records != null) {
+            try {
+                log.write(records.flip());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Adds two count arrays.
+     *
+     * @param a The first counts.
+     * @param b The second counts.
+     * @return A new array holding the sums.
+     */
+    private static long[] add(long[] a, long[] b) {
+        return new long[] {a[0] + b[0], a[1] + b[1], a[2] + b[2]};
+    }
+
+    /**
+     * Runs a simulation from the command line and prints the result.
+     *
+     * @param args See the class comment.
+     * @throws IOException If the log can't be written.
+     */
+    public static void main(String[] args) throws IOException {
+        long games = 1_000_000;
+        int size = 3;
+        int winLength = -1;
+        String x = "random";
+        String o = "random";
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        String logFile = null;
+        long analyticsInterval = -1;  // no analytics
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) throw new IllegalArgumentException("missing value for option: " + args[i]);
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--games": games = Long.parseLong(value); break;
+                case "--size": size = Integer.parseInt(value); break;
+                case "--win": winLength = Integer.parseInt(value); break;
+                case "--x": x = value; break;
+                case "--o": o = value; break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--log": logFile = value; break;
+                case "--analytics": analyticsInterval = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("unknown option: " + args[i]);
+            }
+        }
+        if (winLength < 0) winLength = Math.min(size, 3);
+
+        TicTacToeSimulation simulation = new TicTacToeSimulation(size, winLength,
+                TicTacToeStrategy.forName(x, size, winLength), TicTacToeStrategy.forName(o, size, winLength));
+        System.out.println(size + "x" + size + ", " + winLength + " in a row, " + x + " (X) vs " + o
+                + " (O), " + threads + " threads");
+        TicTacToeAnalytics analytics = null;
+        ScheduledExecutorService reporter = null;
+        if (analyticsInterval >= 0) {
+            analytics = new TicTacToeAnalytics(size, winLength);
+            simulation.setAnalytics(analytics);
+            if (analyticsInterval > 0) reporter = analytics.printEvery(analyticsInterval);
+        }
+        try {
+            if (logFile == null) {
+                System.out.println(simulation.run(games, threads, seed));
+            } else {
+                try (TicTacToeGameLog log = new TicTacToeGameLog(Path.of(logFile), size, winLength)) {
+                    simulation.setLog(log);
+                    System.out.println(simulation.run(games, threads, seed));
+                }
+            }
+        } finally {
+            if (reporter != null) reporter.shutdownNow();
+        }
+        if (analytics != null) System.out.print(analytics.getReport());
+    }
+}
@@ -0,0 +1,282 @@
+package tictactoe;
+
+/**
+ * A perfect-play solver for tic-tac-toe.  Positions are searched with negamax and
+ * alpha-beta pruning, backed by a transposition table.  The table is a byte array
+ * indexed by the canonical base-3 code of a position, so a position and its 7
+ * rotations and reflections share one entry.  Every reachable position is solved
+ * when this class is loaded, after which queries are answered from the table.
+ *
+ * Note: Positions are seen from the side to move, so "mine" is the mask of the
+ * player to move and "theirs" is the mask of the other player.  Only the classic
+ * 3x3 board with 3 in a row is supported.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public final class TicTacToeSolver {
+    public static final int NO_MOVE = -1;
+
+    private static final int NUM_SQUARES = 9;
+    private static final int FULL = (1 << NUM_SQUARES) - 1;  // mask with every square set
+    private static final int NUM_CODES = 19683;  // 3^9 possible codes
+
+    // the 8 winning lines: 3 rows, 3 columns and 2 diagonals
+    private static final int[] WIN_MASKS = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000,
+            0b001_001_001, 0b010_010_010, 0b100_100_100,
+            0b100_010_001, 0b001_010_100
+    };
+
+    // transposition table entry flags (low 2 bits of an entry; 0 means empty)
+    private static final int EXACT = 1;
+    private static final int LOWER = 2;
+    private static final int UPPER = 3;
+    private static final int VALUE_OFFSET = 16;  // stored values are shifted to be positive
+
+    // squares tried in order: centre, corners, then edges
+    private static final int[] MOVE_ORDER = {4, 0, 2, 6, 8, 1, 3, 5, 7};
+
+    // CODE[s][square] is 3^(image of square under symmetry s)
+    private static final int[][] CODE = new int[8][NUM_SQUARES];
+
+    private static final byte[] table = new byte[NUM_CODES];
+
+    static {
+        for (int s = 0; s < 8; s++) {
+            for (int square = 0; square < NUM_SQUARES; square++) {
+                int row = square / 3;
+                int col = square % 3;
+                // apply s & 3 quarter turns, then a reflection if s >= 4
+                for (int turn = 0; turn < (s & 3); turn++) {
+                    int t = row;
+                    row = col;
+                    col = 2 - t;
+                }
+                if (s >= 4) col = 2 - col;
+                int power = 1;
+                for (int i = 0; i < row * 3 + col; i++) power *= 3;
+                CODE[s][square] = power;
+            }
+        }
+        solveAll(0, 0, new boolean[NUM_CODES]);
+    }
+
+    /**
+     * Not instantiable; all methods are static.
+     */
+    private TicTacToeSolver() {
+    }
+
+    /**
+     * Returns the value of the position on the board for the player to move.
+     * A positive value is a forced win, a negative value a forced loss and 0 a
+     * draw.  Quicker wins (and slower losses) have larger values.
+     *
+     * @param board The board to evaluate.
+     * @return The value of the position with perfect play.
+     */
+    public static int evaluate(TicTacToeBoard board) {
+        checkClassic(board);
+        int player = board.getPlayer();
+        return evaluate((int) board.getBits(player), (int) board.getBits(player ^ 1));
+    }
+
+    /**
+     * Returns the value of a position for the player to move.
+     *
+     * @param mine The squares of the player to move.
+     * @param theirs The squares of the other player.
+     * @return The value of the position with perfect play.
+     */
+    public static int evaluate(int mine, int theirs) {
+        return negamax(mine, theirs, -NUM_SQUARES - 1, NUM_SQUARES + 1);
+    }
+
+    /**
+     * Returns the best square for the player to move on the board.
+     *
+     * @param board The board to search.
+     * @return The best square (row * 3 + col), or NO_MOVE if the game is over.
+     */
+    public static int bestMove(TicTacToeBoard board) {
+        checkClassic(board);
+        if (board.getWinner() != TicTacToeBoard.NONE) return NO_MOVE;
+        int player = board.getPlayer();
+        return bestMove((int) board.getBits(player), (int) board.getBits(player ^ 1));
+    }
+
+    /**
+     * Returns true if the solver can play on the board: 3x3 with 3 in a row.
+     *
+     * @param board The board to check.
+     * @return true if the board is the classic game.
+     */
+    public static boolean supports(TicTacToeBoard board) {
+        return board.getSize() == 3 && board.getWinLength() == 3;
+    }
+
+    /**
+     * Throws an IllegalArgumentException if the solver can't play on the board.
+     *
+     * @param board The board to check.
+     */
+    private static void checkClassic(TicTacToeBoard board) {
+        if (!supports(board)) {
+            throw new IllegalArgumentException("the solver only plays 3x3 boards with 3 in a row");
+        }
+    }
+
+    /**
+     * Returns the best square for the player to move.
+     *
+     * @param mine The squares of the player to move.
+     * @param theirs The squares of the other player.
+     * @return The best square (row * 3 + col), or NO_MOVE if no square is free.
+     */
+    public static int bestMove(int mine, int theirs) {
+        int best = NO_MOVE;
+        int bestValue = Integer.MIN_VALUE;
+        for (int square : MOVE_ORDER) {
+            int bit = 1 << square;
+            if (((mine | theirs) & bit) != 0) continue;
+            int value = moveValue(mine | bit, theirs, square);
+            if (value > bestValue) {
+                bestValue = value;
+                best = square;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the value for the mover of the position reached by a move.
+     *
+     * @param mine The mover's squares, including the square just marked.
+     * @param theirs The other player's squares.
+     * @param square The square just marked.
+     * @return The value of the move for the player who made it.
+     */
+    private static int moveValue(int mine, int theirs, int square) {
+        int free = NUM_SQUARES - Integer.bitCount(mine | theirs);
+        if (isWin(mine, square)) return free + 1;
+        if (free == 0) return 0;
+        return -evaluate(theirs, mine);
+    }
+
+    /**
+     * Negamax search with alpha-beta pruning and a transposition table.
+     *
+     * @param mine The squares of the player to move.
+     * @param theirs The squares of the other player.
+     * @param alpha The lower bound of the search window.
+     * @param beta The upper bound of the search window.
+     * @return The value of the position for the player to move.
+     */
+    private static int negamax(int mine, int theirs, int alpha, int beta) {
+        if ((mine | theirs) == FULL) return 0;
+
+        int code = canonicalCode(mine, theirs);
+        int entry = table[code];
+        if (entry != 0) {
+            int value = (entry >> 2) - VALUE_OFFSET;
+            int flag = entry & 3;
+            if (flag == EXACT) return value;
+            // a bound only cuts the search off; searching the caller's whole window
+            // keeps a full-window search exact
+            if (flag == LOWER && value >= beta) return value;
+            if (flag == UPPER && value <= alpha) return value;
+        }
+
+        int originalAlpha = alpha;
+        int best = -NUM_SQUARES - 1;
+        for (int square : MOVE_ORDER) {
+            int bit = 1 << square;
+            if (((mine | theirs) & bit) != 0) continue;
+            int next = mine | bit;
+            int value;
+            if (isWin(next, square)) {
+                value = NUM_SQUARES - Integer.bitCount(next | theirs) + 1;
+            } else {
+                value = -negamax(theirs, next, -beta, -alpha);
+            }
+            if (value > best) best = value;
+            if (best > alpha) alpha = best;
+            if (alpha >= beta) break;
+        }
+
+        int flag = best <= originalAlpha ? UPPER : best >= beta ? LOWER : EXACT;
+        table[code] = (byte) (((best + VALUE_OFFSET) << 2) | flag);
+        return best;
+    }
+
+    /**
+     * Returns true if the table holds the exact value of a position, as it does
+     * for every position reachable in a game once the class is loaded.
+     *
+     * @param mine The squares of the player to move.
+     * @param theirs The squares of the other player.
+     * @return true if the position's entry is exact.
+     */
+    static boolean isSolved(int mine, int theirs) {
+        return (table[canonicalCode(mine, theirs)] & 3) == EXACT;
+    }
+
+    /**
+     * Returns true if the given mask contains a complete line through the given square.
+     *
+     * @param mask The squares marked by one player.
+     * @param square The square that was just marked.
+     * @return true if the mask wins.
+     */
+    private static boolean isWin(int mask, int square) {
+        int bit = 1 << square;
+        for (int line : WIN_MASKS) {
+            if ((line & bit) != 0 && (mask & line) == line) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Solves every position reachable from the given one with a full window, so
+     * that later queries find exact values in the table.
+     *
+     * @param mine The squares of the player to move.
+     * @param theirs The squares of the other player.
+     * @param visited Canonical codes already solved.
+     */
+    private static void solveAll(int mine, int theirs, boolean[] visited) {
+        int code = canonicalCode(mine, theirs);
+        if (visited[code]) return;
+        visited[code] = true;
+        evaluate(mine, theirs);
+        for (int square = 0; square < NUM_SQUARES; square++) {
+            int bit = 1 << square;
+            if (((mine | theirs) & bit) != 0) continue;
+            int next = mine | bit;
+            if (!isWin(next, square) && (next | theirs) != FULL) {
+                solveAll(theirs, next, visited);
+            }
+        }
+    }
+
+    /**
+     * Returns the smallest base-3 code of a position over the 8 board symmetries.
+     * A square of the player to move counts 1, a square of the other player 2.
+     *
+     * @param mine The squares of the player to move.
+     * @param theirs The squares of the other player.
+     * @return The canonical code, in [0, 3^9).
+     */
+    static int canonicalCode(int mine, int theirs) {
+        int min = Integer.MAX_VALUE;
+        for (int[] code : CODE) {
+            int sum = 0;
+            for (int m = mine; m != 0; m &= m - 1) sum += code[Integer.numberOfTrailingZeros(m)];
+            for (int t = theirs; t != 0; t &= t - 1) sum += 2 * code[Integer.numberOfTrailingZeros(t)];
+            if (sum < min) min = sum;
+        }
+        return min;
+    }
+}
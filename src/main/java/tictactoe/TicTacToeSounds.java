@@ -0,0 +1,177 @@
+package tictactoe;
+
+import java.awt.GraphicsEnvironment;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.Clip;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Plays the game's sound effects.  Each sound is decoded once, by load() or
+ * before the first sound is played, into a few open Clips that are rewound and reused, so playing a
+ * sound never reads or decodes a file.  All audio work runs on one dedicated
+ * thread: play() only queues the request and returns at once, so the Swing
+ * event thread never waits on audio.  Having several Clips per sound lets the
+ * same sound overlap itself.
+ *
+ * Sounds are muted on a headless JVM, and once decoding finds no audio device
+ * that can give a line to any of the sounds.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeSounds {
+    private static final int CLIPS_PER_SOUND = 3;  // how many copies of a sound can overlap
+
+    /**
+     * The game's sound effects.
+     */
+    public enum Sound {
+        SWORD("sword.wav"),  // X marks a square
+        SHIELD("shield.wav"),  // O marks a square
+        WON("won.wav");  // a player wins
+
+        private final String resource;
+
+        /**
+         * Creates a sound.
+         *
+         * @param resource The sound's file, next to this class.
+         */
+        Sound(String resource) {
+            this.resource = resource;
+        }
+    }
+
+    private final ExecutorService audioThread;
+    private final Map<Sound, Clip[]> clips = new EnumMap<>(Sound.class);  // only touched on the audio thread
+    private final int[] nextClip = new int[Sound.values().length];  // round-robin index per sound
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile boolean muted;
+    private volatile boolean noDevice;  // no sound could get a line
+
+    /**
+     * Creates the sound player.  Nothing is decoded until load() or play() is called.
+     */
+    public TicTacToeSounds() {
+        muted = GraphicsEnvironment.isHeadless();
+        audioThread = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "TicTacToe audio");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts decoding the sounds on the audio thread, unless they are already
+     * decoded or being decoded.  Does nothing on a headless JVM.
+     */
+    public void load() {
+        if (!GraphicsEnvironment.isHeadless() && loading.compareAndSet(false, true)) {
+            audioThread.execute(this::decode);
+        }
+    }
+
+    /**
+     * Decodes every sound into its Clips.  Runs on the audio thread.  A sound
+     * that can't be loaded stays silent, and if no sound can get a line from
+     * the audio system, the sounds are muted.
+     */
+    private void decode() {
+        int numNoLine = 0;  // sounds that failed for want of a line
+        for (Sound sound : Sound.values()) {
+            InputStream resource = TicTacToeSounds.class.getResourceAsStream(sound.resource);
+            if (resource == null) {
+                System.err.println("Can't load sound " + sound.resource + ": not found");
+                continue;
+            }
+            Clip[] pool = new Clip[CLIPS_PER_SOUND];
+            int numClips = 0;  // Clips of the pool taken from the mixer
+            try (InputStream in = new BufferedInputStream(resource);
+                 AudioInputStream audio = AudioSystem.getAudioInputStream(in)) {
+                AudioFormat format = audio.getFormat();
+                byte[] data = audio.readAllBytes();
+                while (numClips < pool.length) {
+                    Clip clip = AudioSystem.getClip();
+                    pool[numClips++] = clip;
+                    clip.open(format, data, 0, data.length);
+                }
+                clips.put(sound, pool);
+            } catch (IOException | UnsupportedAudioFileException | LineUnavailableException
+                     | IllegalArgumentException e) {
+                System.err.println("Can't load sound " + sound.resource + ": " + e);
+                // the audio system throws these when it has no line for a Clip
+                if (e instanceof LineUnavailableException || e instanceof IllegalArgumentException) numNoLine++;
+                // give back the lines of the Clips opened before the failure
+                for (int i = 0; i < numClips; i++) pool[i].close();
+            }
+        }
+        if (numNoLine == Sound.values().length) {
+            System.err.println("No audio device: sounds are muted");
+            noDevice = true;
+            muted = true;
+        }
+    }
+
+    /**
+     * Plays a sound once, without waiting for it to start.
+     *
+     * @param sound The sound to play.
+     */
+    public void play(Sound sound) {
+        if (muted) return;
+        load();  // queued ahead of the sound if nothing has loaded the sounds yet
+        long requested = TicTacToeMetrics.SOUND_START.start();
+        audioThread.execute(() -> start(sound, requested));
+    }
+
+    /**
+     * Starts the next Clip of a sound from the beginning.  Runs on the audio thread.
+     * If every Clip of the sound is playing, the one started longest ago restarts.
+     *
+     * @param sound The sound to play.
+     * @param requested When play() was called, for TicTacToeMetrics.SOUND_START.
+     */
+    private void start(Sound sound, long requested) {
+        Clip[] pool = clips.get(sound);
+        if (pool == null) return;
+        int index = nextClip[sound.ordinal()];
+        nextClip[sound.ordinal()] = (index + 1) % pool.length;
+        Clip clip = pool[index];
+        clip.stop();
+        clip.setFramePosition(0);
+        clip.start();
+        TicTacToeMetrics.SOUND_START.stop(requested);
+    }
+
+    /**
+     * Mutes or unmutes the sounds.  Sounds are always muted on a headless JVM
+     * and with no audio device.
+     *
+     * @param muted true to stop playing sounds.
+     */
+    public void setMuted(boolean muted) {
+        this.muted = muted || GraphicsEnvironment.isHeadless() || noDevice;
+    }
+
+    /**
+     * Returns true if sounds are muted.
+     *
+     * @return true if play() does nothing.
+     */
+    public boolean isMuted() {
+        return muted;
+    }
+}
@@ -0,0 +1,61 @@
+package tictactoe;
+
+/**
+ * The state of a game: whose turn it is, or how the game ended.  Each state
+ * carries the text the view displays for it, built once, so reporting the state
+ * after a move allocates nothing.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public enum TicTacToeStatus {
+    X_TO_MOVE("Game in progress: X's turn"),
+    O_TO_MOVE("Game in progress: O's turn"),
+    X_WINS("X wins"),
+    O_WINS("O wins"),
+    TIE("Tie");
+
+    private static final TicTacToeStatus[] IN_PROGRESS = {X_TO_MOVE, O_TO_MOVE};  // indexed by player
+    private static final TicTacToeStatus[] GAME_OVER = {X_WINS, O_WINS, TIE};  // indexed by winner
+
+    private final String text;
+
+    /**
+     * Creates a status.
+     *
+     * @param text The text displayed for the status.
+     */
+    TicTacToeStatus(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Returns the text displayed for this status.
+     *
+     * @return The cached display text.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns true if the game has ended.
+     *
+     * @return true for X_WINS, O_WINS and TIE.
+     */
+    public boolean isGameOver() {
+        return ordinal() >= X_WINS.ordinal();
+    }
+
+    /**
+     * Returns the status of a board.
+     *
+     * @param board The board.
+     * @return The board's status.
+     */
+    public static TicTacToeStatus of(TicTacToeBoard board) {
+        int winner = board.getWinner();
+        return winner == TicTacToeBoard.NONE ? IN_PROGRESS[board.getPlayer()] : GAME_OVER[winner];
+    }
+}
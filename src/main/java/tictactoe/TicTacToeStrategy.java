@@ -0,0 +1,131 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * A way of choosing moves for a computer player.  Strategies only read the board
+ * they are given, so one strategy object can be shared by many threads as long
+ * as each thread passes its own board and random number generator.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public interface TicTacToeStrategy {
+
+    /**
+     * Chooses a move for the player to move.  The game must not be over.
+     *
+     * @param board The board to play on; it must not be changed.
+     * @param random The random number generator of the calling thread.
+     * @return The chosen square (row * size + col).
+     */
+    int chooseMove(TicTacToeBoard board, SplittableRandom random);
+
+    /**
+     * Returns a strategy that plays a uniformly random empty square.
+     *
+     * @return The random strategy.
+     */
+    static TicTacToeStrategy random() {
+        return (board, random) -> randomSquare(board, random);
+    }
+
+    /**
+     * Returns a strategy that wins at once if it can, otherwise blocks the other
+     * player's immediate win if it can, otherwise plays randomly.
+     *
+     * @return The greedy strategy.
+     */
+    static TicTacToeStrategy greedy() {
+        return (board, random) -> {
+            int player = board.getPlayer();
+            int block = TicTacToeSolver.NO_MOVE;
+            for (int square = 0; square < board.getNumSquares(); square++) {
+                if (!board.isEmpty(square)) continue;
+                if (board.isWinningMove(player, square)) return square;
+                if (block == TicTacToeSolver.NO_MOVE && board.isWinningMove(player ^ 1, square)) block = square;
+            }
+            return block != TicTacToeSolver.NO_MOVE ? block : randomSquare(board, random);
+        };
+    }
+
+    /**
+     * Returns a strategy that plays perfectly on the classic 3x3 board, and
+     * falls back to the greedy strategy on other boards.
+     *
+     * @return The solver strategy.
+     */
+    static TicTacToeStrategy solver() {
+        TicTacToeStrategy fallback = greedy();
+        return (board, random) -> TicTacToeSolver.supports(board)
+                ? TicTacToeSolver.bestMove(board) : fallback.chooseMove(board, random);
+    }
+
+    /**
+     * Returns the strategy with the given name, to play on a board.
+     *
+     * @param name "random", "greedy", "solver", "mcts", "search" or "tablebase",
+     *             which opens the board's table file (see TicTacToeTablebase.defaultPath).
+     * @param size The number of rows and columns of the board.
+     * @param winLength The number of marks in a row needed to win.
+     * @return The named strategy.
+     * @throws IllegalArgumentException If the name is unknown, or the table
+     *                                  file holds the table of another board.
+     */
+    static TicTacToeStrategy forName(String name, int size, int winLength) {
+        switch (name) {
+            case "random":
+                return random();
+            case "greedy":
+                return greedy();
+            case "solver":
+                return solver();
+            case "mcts":
+                return new TicTacToeMcts();
+            case "search":
+                return new TicTacToeSearch();
+            case "tablebase":
+                Path path = TicTacToeTablebase.defaultPath(size, winLength);
+                TicTacToeTablebase tablebase;
+                try {
+                    tablebase = TicTacToeTablebase.open(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (!tablebase.supports(new TicTacToeBoard(size, winLength))) {
+                    throw new IllegalArgumentException(path + " is not a tablebase of " + size + "x" + size
+                            + " boards with " + winLength + " in a row");
+                }
+                return tablebase;
+            default:
+                throw new IllegalArgumentException("unknown strategy: " + name);
+        }
+    }
+
+    /**
+     * Returns a uniformly random empty square.  Squares are sampled directly
+     * while at least half the board is empty, and listed otherwise.
+     *
+     * @param board The board to play on.
+     * @param random The random number generator of the calling thread.
+     * @return An empty square.
+     */
+    private static int randomSquare(TicTacToeBoard board, SplittableRandom random) {
+        int numSquares = board.getNumSquares();
+        int free = board.getNumFreeSquares();
+        if (2 * free >= numSquares) {
+            while (true) {
+                int square = random.nextInt(numSquares);
+                if (board.isEmpty(square)) return square;
+            }
+        }
+        int target = random.nextInt(free);
+        for (int square = 0; ; square++) {
+            if (board.isEmpty(square) && target-- == 0) return square;
+        }
+    }
+}
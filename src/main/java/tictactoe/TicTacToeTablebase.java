@@ -0,0 +1,365 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+/**
+ * A complete table of perfect play for a small board, computed once and saved
+ * to a file.  Every position is given an index by a perfect hash, its base-3
+ * code: a square of the player to move counts 1 and a square of the other
+ * player 2, times 3^square.  The table holds one byte per code: the outcome for
+ * the player to move (win, draw or loss) and the best move, choosing the
+ * quickest win or the slowest loss.  Looking up a move is a single array read.
+ *
+ * Positions are seen from the side to move, so one table serves games started
+ * by either player.  Boards of up to MAX_SQUARES squares fit: 3x3 takes 19 KB and
+ * 4x4 takes 43 MB.  open() memory-maps the file, so loading is immediate and the
+ * pages are read only as positions are looked up.
+ *
+ * The file starts with a HEADER_BYTES header: the magic number, the format
+ * version, the board size, the win length and the number of entries.
+ *
+ * Usage: java -cp tictactoe.jar tictactoe.TicTacToeTablebase [--size N] [--win K] [--out FILE]
+ * generates the table for a board (3x3 by default, with 3 in a row or size in a row
+ * if the board is smaller, as in TicTacToe) and writes it to a file.  TicTacToe opens
+ * the table of its board at startup, if there is one, for its computer player,
+ * and the "tablebase" strategy of TicTacToeSimulation and TicTacToeTournament
+ * plays from the table of the board they are given.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeTablebase implements TicTacToeStrategy {
+    public static final int MAX_SQUARES = 16;  // 3^16 entries still fit in an int index
+
+    public static final int WIN = 1;  // outcomes for the player to move
+    public static final int DRAW = 2;
+    public static final int LOSS = 3;
+
+    static final int MAGIC = 0x54545442;  // "TTTB"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    // layout of an entry; 0 is a position that is over or can't be reached
+    private static final int MOVE_MASK = 0x0f;
+    private static final int OUTCOME_SHIFT = 4;
+
+    // base-3 value of the low and high byte of a square mask
+    private static final int[] LOW = new int[256];
+    private static final int[] HIGH = new int[256];
+
+    static {
+        for (int mask = 0; mask < 256; mask++) {
+            int power = 1;
+            for (int square = 0; square < 8; square++) {
+                if ((mask & (1 << square)) != 0) LOW[mask] += power;
+                power *= 3;
+            }
+            HIGH[mask] = LOW[mask] * 6561;  // 3^8
+        }
+    }
+
+    private final int size;
+    private final int winLength;
+    private final ByteBuffer entries;  // the file, header included
+
+    /**
+     * Creates a tablebase over a buffer holding a table file.
+     *
+     * @param entries The header and the entries.
+     * @throws IOException If the buffer doesn't hold a table.
+     */
+    private TicTacToeTablebase(ByteBuffer entries) throws IOException {
+        entries.order(ByteOrder.LITTLE_ENDIAN);
+        if (entries.limit() < HEADER_BYTES || entries.getInt(0) != MAGIC || entries.getShort(4) != VERSION) {
+            throw new IOException("not a tablebase");
+        }
+        size = entries.get(6);
+        winLength = entries.get(7);
+        if (size < TicTacToeBoard.MIN_SIZE || size * size > MAX_SQUARES
+                || entries.getInt(8) != numCodes(size * size)
+                || entries.limit() != HEADER_BYTES + numCodes(size * size)) {
+            throw new IOException("tablebase has a bad size");
+        }
+        this.entries = entries;
+    }
+
+    /**
+     * Solves every position of a board and builds its table in memory.
+     *
+     * @param size The number of rows and columns; at most MAX_SQUARES squares.
+     * @param winLength The number of marks in a row needed to win.
+     * @return The tablebase.
+     */
+    public static TicTacToeTablebase generate(int size, int winLength) {
+        TicTacToeBoard rules = new TicTacToeBoard(size, winLength);
+        int numSquares = size * size;
+        if (numSquares > MAX_SQUARES) {
+            throw new IllegalArgumentException("tablebases are limited to " + MAX_SQUARES + " squares");
+        }
+        int numCodes = numCodes(numSquares);
+        ByteBuffer table = ByteBuffer.allocate(HEADER_BYTES + numCodes).order(ByteOrder.LITTLE_ENDIAN);
+        table.putInt(MAGIC).putShort((short) VERSION).put((byte) size).put((byte) winLength).putInt(numCodes);
+        table.putInt(0);  // reserved
+        new Generator(rules, table).solve(0, 0, 0);
+        try {
+            return new TicTacToeTablebase(table.clear());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Solves positions depth first, remembering the value of each one.
+     */
+    private static final class Generator {
+        private static final int VALUE_OFFSET = 64;  // stored values are shifted to be positive
+
+        private final TicTacToeBoard rules;  // only its win lines are used
+        private final int numSquares;
+        private final ByteBuffer table;
+        private final byte[] values;  // value + VALUE_OFFSET of each solved code, 0 if not solved
+
+        Generator(TicTacToeBoard rules, ByteBuffer table) {
+            this.rules = rules;
+            numSquares = rules.getNumSquares();
+            this.table = table;
+            values = new byte[numCodes(numSquares)];
+        }
+
+        /**
+         * Returns the value of a position for the player to move, recording its
+         * entry: positive is a win, larger the sooner, and negative a loss.
+         *
+         * @param mine The squares of the player to move.
+         * @param theirs The squares of the other player.
+         * @param code The position's code.
+         * @return The value with perfect play.
+         */
+        int solve(int mine, int theirs, int code) {
+            if (values[code] != 0) return values[code] - VALUE_OFFSET;
+            int best = Integer.MIN_VALUE;
+            int bestMove = 0;
+            for (int square = 0; square < numSquares; square++) {
+                int bit = 1 << square;
+                if (((mine | theirs) & bit) != 0) continue;
+                int next = mine | bit;
+                int free = numSquares - Integer.bitCount(next | theirs);
+                int value;
+                if (rules.isWin(next, square)) {
+                    value = free + 1;
+                } else if (free == 0) {
+                    value = 0;
+                } else {
+                    value = -solve(theirs, next, code(theirs, next));
+                }
+                if (value > best) {
+                    best = value;
+                    bestMove = square;
+                }
+            }
+            int outcome = best > 0 ? WIN : best == 0 ? DRAW : LOSS;
+            values[code] = (byte) (best + VALUE_OFFSET);
+            table.put(HEADER_BYTES + code, (byte) (outcome << OUTCOME_SHIFT | bestMove));
+            return best;
+        }
+    }
+
+    /**
+     * Opens a table file by memory-mapping it.
+     *
+     * @param path The file written by write().
+     * @return The tablebase.
+     * @throws IOException If the file can't be read or is not a tablebase.
+     */
+    public static TicTacToeTablebase open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            try {
+                return new TicTacToeTablebase(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            } catch (IOException e) {
+                throw new IOException(path + " is not a tablebase: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Writes the table to a file.
+     *
+     * @param path The file to write, replaced if it exists.
+     * @throws IOException If the file can't be written.
+     */
+    public void write(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer all = entries.duplicate().clear();
+            while (all.hasRemaining()) {
+                channel.write(all);
+            }
+        }
+    }
+
+    /**
+     * Returns the table file a board's players open: the file named by the
+     * tictactoe.tablebase property, or tictactoe-SIZExSIZE-WINLENGTH.tb in the
+     * working directory.
+     *
+     * @param size The number of rows and columns.
+     * @param winLength The number of marks in a row needed to win.
+     * @return The path of the table file, which may not exist.
+     */
+    public static Path defaultPath(int size, int winLength) {
+        return Path.of(System.getProperty("tictactoe.tablebase", fileName(size, winLength)));
+    }
+
+    /**
+     * Returns the name a board's table is written under by default.
+     *
+     * @param size The number of rows and columns.
+     * @param winLength The number of marks in a row needed to win.
+     * @return tictactoe-SIZExSIZE-WINLENGTH.tb.
+     */
+    static String fileName(int size, int winLength) {
+        return "tictactoe-" + size + "x" + size + "-" + winLength + ".tb";
+    }
+
+    /**
+     * Returns the number of codes of a board.
+     *
+     * @param numSquares The number of squares.
+     * @return 3^numSquares.
+     */
+    private static int numCodes(int numSquares) {
+        int codes = 1;
+        for (int i = 0; i < numSquares; i++) codes *= 3;
+        return codes;
+    }
+
+    /**
+     * Returns the base-3 code of a position.
+     *
+     * @param mine The squares of the player to move.
+     * @param theirs The squares of the other player.
+     * @return The code, the position's index in the table.
+     */
+    private static int code(int mine, int theirs) {
+        return LOW[mine & 0xff] + HIGH[mine >>> 8] + 2 * (LOW[theirs & 0xff] + HIGH[theirs >>> 8]);
+    }
+
+    /**
+     * Returns the entry of the position on a board.
+     *
+     * @param board A board this tablebase supports.
+     * @return The entry, 0 if the game is over.
+     */
+    private int entry(TicTacToeBoard board) {
+        if (!supports(board)) {
+            throw new IllegalArgumentException("the tablebase is for " + size + "x" + size + " boards with "
+                    + winLength + " in a row");
+        }
+        if (board.getWinner() != TicTacToeBoard.NONE) return 0;
+        int player = board.getPlayer();
+        return entries.get(HEADER_BYTES + code((int) board.getBits(player), (int) board.getBits(player ^ 1)));
+    }
+
+    /**
+     * Returns true if this tablebase covers the board.
+     *
+     * @param board The board to check.
+     * @return true if the board has the size and win length of the table.
+     */
+    public boolean supports(TicTacToeBoard board) {
+        return board.getSize() == size && board.getWinLength() == winLength;
+    }
+
+    /**
+     * Returns the best square for the player to move on the board.
+     *
+     * @param board A board this tablebase supports.
+     * @return The best square (row * size + col), or TicTacToeSolver.NO_MOVE if the game is over.
+     */
+    public int bestMove(TicTacToeBoard board) {
+        int entry = entry(board);
+        return entry == 0 ? TicTacToeSolver.NO_MOVE : entry & MOVE_MASK;
+    }
+
+    /**
+     * Returns the outcome of perfect play for the player to move on the board.
+     *
+     * @param board A board this tablebase supports.
+     * @return WIN, DRAW or LOSS, or TicTacToeBoard.NONE if the game is over.
+     */
+    public int getOutcome(TicTacToeBoard board) {
+        int entry = entry(board);
+        return entry == 0 ? TicTacToeBoard.NONE : entry >>> OUTCOME_SHIFT;
+    }
+
+    /**
+     * Plays the best move from the table.
+     *
+     * @throws IllegalArgumentException If the table doesn't cover the board.
+     */
+    public int chooseMove(TicTacToeBoard board, SplittableRandom random) {
+        return bestMove(board);
+    }
+
+    /**
+     * Returns the number of rows and columns of the table's board.
+     *
+     * @return The board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of marks in a row needed to win on the table's board.
+     *
+     * @return The win length.
+     */
+    public int getWinLength() {
+        return winLength;
+    }
+
+    /**
+     * Generates a tablebase, writes it, and times loading it back.
+     *
+     * @param args The options described above.
+     * @throws IOException If the file can't be written or read.
+     */
+    public static void main(String[] args) throws IOException {
+        int size = 3;
+        int winLength = -1;
+        Path out = null;
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) throw new IllegalArgumentException("missing value for option: " + args[i]);
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--size": size = Integer.parseInt(value); break;
+                case "--win": winLength = Integer.parseInt(value); break;
+                case "--out": out = Path.of(value); break;
+                default: throw new IllegalArgumentException("unknown option: " + args[i]);
+            }
+        }
+        if (winLength < 0) winLength = Math.min(size, 3);
+        if (out == null) out = Path.of(fileName(size, winLength));
+
+        long start = System.nanoTime();
+        TicTacToeTablebase tablebase = generate(size, winLength);
+        long solved = System.nanoTime();
+        tablebase.write(out);
+        System.out.printf("solved %dx%d with %d in a row in %.1f s, wrote %s (%d bytes)%n", size, size, winLength,
+                (solved - start) / 1e9, out, HEADER_BYTES + numCodes(size * size));
+
+        start = System.nanoTime();
+        TicTacToeTablebase loaded = open(out);
+        int outcome = loaded.getOutcome(new TicTacToeBoard(size, winLength));
+        System.out.printf("loaded in %.2f ms; the first player %s%n", (System.nanoTime() - start) / 1e6,
+                outcome == WIN ? "wins" : outcome == DRAW ? "draws" : "loses");
+    }
+}
@@ -0,0 +1,494 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs tournaments between computer players without a GUI, round-robin or
+ * Swiss, and rates the players on the Elo scale.  Every pairing plays a match
+ * of many games with the players taking turns at X.  A match is split into
+ * batches of BATCH_SIZE games that run in parallel on a ForkJoinPool, each on
+ * its own board with its own random number generator.
+ *
+ * Results are kept per pair in flat primitive arrays indexed a * numPlayers + b.
+ * Ratings are the Bradley-Terry maximum likelihood fit of those results, with
+ * a tie counting as half a win, so they don't depend on the order in which the
+ * batches finish.  The fit is cheap for dozens of players and is redone,
+ * starting from the last ratings, whenever standings are asked for, so they can
+ * be read while the tournament runs.
+ *
+ * A Swiss tournament pairs players with the same match points who haven't met
+ * yet, one round at a time; a match is worth 1 point to the player who won
+ * more of its games and half a point to each player on a tie.  With an odd
+ * number of players, the lowest ranked player without a bye sits the round
+ * out and gets 1 point.
+ *
+ * Usage: java -cp tictactoe.jar tictactoe.TicTacToeTournament [--players P1,P2,...] [--format roundrobin|swiss]
+ *        [--games N] [--rounds N] [--size N] [--win K] [--threads N] [--seed N] [--interval SECONDS]
+ *
+ * where each player is a strategy name (see TicTacToeStrategy.forName) and --games
+ * is the number of games per match.  Standings are printed every --interval seconds.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeTournament {
+    public static final int BATCH_SIZE = 1024;  // games per task
+    public static final double MEAN_RATING = 1500;  // the average player's rating
+
+    // tied games added to every pair that met, so a sweep has a finite rating
+    private static final double PRIOR_GAMES = 1;
+    private static final int MAX_FIT_ITERATIONS = 500;
+    private static final double FIT_TOLERANCE = 1e-4;  // in rating points
+
+    private final int size;
+    private final int winLength;
+    private final String[] names;
+    private final TicTacToeStrategy[] strategies;
+    private final int numPlayers;
+
+    // results, guarded by this
+    private final long[] wins;  // wins[a * numPlayers + b] = games a won against b
+    private final long[] ties;  // ties[a * numPlayers + b] = ties[b * numPlayers + a]
+    private final double[] points;  // Swiss match points
+    private final boolean[] hadBye;
+    private final double[] ratings;  // the last fit, the starting point of the next
+    private long gamesPlayed;
+    private final long start = System.nanoTime();
+
+    /**
+     * Creates a tournament.
+     *
+     * @param size The number of rows and columns.
+     * @param winLength The number of marks in a row needed to win.
+     * @param names The players' names, used in the standings.
+     * @param strategies The players' strategies, indexed like the names.
+     */
+    public TicTacToeTournament(int size, int winLength, String[] names, TicTacToeStrategy[] strategies) {
+        new TicTacToeBoard(size, winLength);  // fail now rather than in a worker
+        if (names.length != strategies.length || names.length < 2) {
+            throw new IllegalArgumentException("a tournament needs a name and a strategy for each of "
+                    + "2 or more players");
+        }
+        this.size = size;
+        this.winLength = winLength;
+        this.names = names.clone();
+        this.strategies = strategies.clone();
+        numPlayers = names.length;
+        wins = new long[numPlayers * numPlayers];
+        ties = new long[numPlayers * numPlayers];
+        points = new double[numPlayers];
+        hadBye = new boolean[numPlayers];
+        ratings = new double[numPlayers];
+        Arrays.fill(ratings, MEAN_RATING);
+    }
+
+    /**
+     * Plays a match between every pair of players.
+     *
+     * @param games The number of games per match.
+     * @param threads The number of worker threads.
+     * @param seed The seed for the random number generators.
+     */
+    public void playRoundRobin(long games, int threads, long seed) {
+        int[] pairs = new int[numPlayers * (numPlayers - 1)];
+        int count = 0;
+        for (int a = 0; a < numPlayers; a++) {
+            for (int b = a + 1; b < numPlayers; b++) {
+                pairs[count++] = a;
+                pairs[count++] = b;
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            playMatches(pairs, games, pool, seed);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays the rounds of a Swiss tournament.
+     *
+     * @param rounds The number of rounds.
+     * @param games The number of games per match.
+     * @param threads The number of worker threads.
+     * @param seed The seed for the random number generators.
+     * @param afterRound Run after each round with the round's number, from 1, or null.
+     */
+    public void playSwiss(int rounds, long games, int threads, long seed, IntConsumer afterRound) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (int round = 1; round <= rounds; round++) {
+                int[] pairs = pairSwissRound();
+                long[] before = new long[pairs.length];
+                synchronized (this) {
+                    for (int i = 0; i < pairs.length; i += 2) {
+                        before[i] = wins[pairs[i] * numPlayers + pairs[i + 1]];
+                        before[i + 1] = wins[pairs[i + 1] * numPlayers + pairs[i]];
+                    }
+                }
+                playMatches(pairs, games, pool, seed + ((long) round << 48));
+                synchronized (this) {
+                    for (int i = 0; i < pairs.length; i += 2) {
+                        int a = pairs[i];
+                        int b = pairs[i + 1];
+                        long winsA = wins[a * numPlayers + b] - before[i];
+                        long winsB = wins[b * numPlayers + a] - before[i + 1];
+                        points[a] += winsA > winsB ? 1 : winsA == winsB ? 0.5 : 0;
+                        points[b] += winsB > winsA ? 1 : winsA == winsB ? 0.5 : 0;
+                    }
+                }
+                if (afterRound != null) afterRound.accept(round);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Pairs the players for the next Swiss round: in order of match points and
+     * then rating, each player meets the next player they haven't met yet, or
+     * the next player if they have met everyone left.
+     *
+     * @return The pairs, as a flat array of player indexes a0, b0, a1, b1, ...
+     */
+    private int[] pairSwissRound() {
+        Integer[] order = rankOrder(true);
+        boolean[] paired = new boolean[numPlayers];
+        int[] pairs = new int[numPlayers / 2 * 2];
+        int count = 0;
+        synchronized (this) {
+            if (numPlayers % 2 == 1) {
+                int bye = order[numPlayers - 1];  // if everyone has had a bye, the last player gets another
+                for (int i = numPlayers - 1; i >= 0; i--) {
+                    if (!hadBye[order[i]]) {
+                        bye = order[i];
+                        break;
+                    }
+                }
+                hadBye[bye] = true;
+                points[bye] += 1;
+                paired[bye] = true;
+            }
+            for (int i = 0; i < numPlayers; i++) {
+                int a = order[i];
+                if (paired[a]) continue;
+                int opponent = -1;
+                for (int j = i + 1; j < numPlayers; j++) {
+                    int b = order[j];
+                    if (paired[b]) continue;
+                    if (opponent < 0) opponent = b;
+                    if (getGames(a, b) == 0) {
+                        opponent = b;
+                        break;
+                    }
+                }
+                paired[a] = true;
+                paired[opponent] = true;
+                pairs[count++] = a;
+                pairs[count++] = opponent;
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Plays a match between each pair of players and waits for them all.
+     *
+     * @param pairs The pairs, as a flat array of player indexes a0, b0, a1, b1, ...
+     * @param games The number of games per match.
+     * @param pool The pool to play on.
+     * @param seed The seed for the random number generators.
+     */
+    private void playMatches(int[] pairs, long games, ForkJoinPool pool, long seed) {
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            int a = pairs[i];
+            int b = pairs[i + 1];
+            for (long first = 0; first < games; first += BATCH_SIZE) {
+                long batchGames = Math.min(BATCH_SIZE, games - first);
+                // the same seed for a batch whatever the number of threads, so results can be repeated
+                SplittableRandom random = new SplittableRandom(seed + ((long) i << 32) + first);
+                tasks.add(pool.submit(() -> playBatch(a, b, batchGames, random)));
+            }
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("tournament interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("tournament failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Plays a batch of games between two players on a board owned by the
+     * calling worker, with a playing X in the even games and b in the odd ones.
+     *
+     * @param a The first player.
+     * @param b The second player.
+     * @param games The number of games to play.
+     * @param random The random number generator of this batch.
+     */
+    private void playBatch(int a, int b, long games, SplittableRandom random) {
+        TicTacToeBoard board = new TicTacToeBoard(size, winLength);
+        TicTacToeStrategy[] aFirst = {strategies[a], strategies[b]};
+        TicTacToeStrategy[] bFirst = {strategies[b], strategies[a]};
+        long winsA = 0;
+        long winsB = 0;
+        for (long game = 0; game < games; game++) {
+            TicTacToeStrategy[] players = game % 2 == 0 ? aFirst : bFirst;
+            board.clear();
+            int winner = TicTacToeBoard.NONE;
+            while (winner == TicTacToeBoard.NONE) {
+                winner = board.play(players[board.getPlayer()].chooseMove(board, random));
+            }
+            if (winner != TicTacToeBoard.TIE) {
+                if ((winner == TicTacToeBoard.X) == (game % 2 == 0)) winsA++; else winsB++;
+            }
+        }
+        record(a, b, winsA, winsB, games - winsA - winsB);
+    }
+
+    /**
+     * Adds the results of a batch.
+     *
+     * @param a The first player.
+     * @param b The second player.
+     * @param winsA Games won by a.
+     * @param winsB Games won by b.
+     * @param numTies Games tied.
+     */
+    private synchronized void record(int a, int b, long winsA, long winsB, long numTies) {
+        wins[a * numPlayers + b] += winsA;
+        wins[b * numPlayers + a] += winsB;
+        ties[a * numPlayers + b] += numTies;
+        ties[b * numPlayers + a] += numTies;
+        gamesPlayed += winsA + winsB + numTies;
+    }
+
+    /**
+     * Returns the number of games two players have played against each other.
+     *
+     * @param a One player.
+     * @param b The other player.
+     * @return The number of games.
+     */
+    public synchronized long getGames(int a, int b) {
+        return wins[a * numPlayers + b] + wins[b * numPlayers + a] + ties[a * numPlayers + b];
+    }
+
+    /**
+     * Returns the number of games a player has won against another.
+     *
+     * @param a The player.
+     * @param b The opponent.
+     * @return The number of games a won.
+     */
+    public synchronized long getWins(int a, int b) {
+        return wins[a * numPlayers + b];
+    }
+
+    /**
+     * Returns the number of games two players have tied.
+     *
+     * @param a One player.
+     * @param b The other player.
+     * @return The number of ties.
+     */
+    public synchronized long getTies(int a, int b) {
+        return ties[a * numPlayers + b];
+    }
+
+    /**
+     * Returns the number of games played so far.
+     *
+     * @return The number of games.
+     */
+    public synchronized long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Fits the ratings to the results so far and returns them.
+     *
+     * @return Each player's rating, indexed like the names.
+     */
+    public synchronized double[] getRatings() {
+        fitRatings();
+        return ratings.clone();
+    }
+
+    /**
+     * Fits the Bradley-Terry strengths g of the players to the results with the
+     * minorization-maximization iteration g[i] = W[i] / sum over j of
+     * n[i][j] / (g[i] + g[j]), where W[i] counts wins plus half the ties, and
+     * stores them as ratings 400 * log10(g) around MEAN_RATING.
+     */
+    private void fitRatings() {
+        double[] strength = new double[numPlayers];
+        double[] next = new double[numPlayers];
+        for (int i = 0; i < numPlayers; i++) {
+            strength[i] = Math.pow(10, (ratings[i] - MEAN_RATING) / 400);
+        }
+        for (int iteration = 0; iteration < MAX_FIT_ITERATIONS; iteration++) {
+            for (int i = 0; i < numPlayers; i++) {
+                double score = 0;
+                double expected = 0;
+                for (int j = 0; j < numPlayers; j++) {
+                    long games = wins[i * numPlayers + j] + wins[j * numPlayers + i] + ties[i * numPlayers + j];
+                    if (j == i || games == 0) continue;
+                    score += wins[i * numPlayers + j] + 0.5 * (ties[i * numPlayers + j] + PRIOR_GAMES);
+                    expected += (games + PRIOR_GAMES) / (strength[i] + strength[j]);
+                }
+                next[i] = expected == 0 ? 0 : score / expected;  // 0 for a player with no games yet
+            }
+            // keep the geometric mean of the players with games at 1, so their average rating is MEAN_RATING
+            double logMean = 0;
+            int numRated = 0;
+            for (int i = 0; i < numPlayers; i++) {
+                if (next[i] == 0) continue;
+                logMean += Math.log(next[i]);
+                numRated++;
+            }
+            logMean /= Math.max(1, numRated);
+            double change = 0;
+            for (int i = 0; i < numPlayers; i++) {
+                double rating = next[i] == 0
+                        ? MEAN_RATING : MEAN_RATING + 400 * (Math.log(next[i]) - logMean) / Math.log(10);
+                change = Math.max(change, Math.abs(rating - ratings[i]));
+                ratings[i] = rating;
+                strength[i] = Math.pow(10, (rating - MEAN_RATING) / 400);
+            }
+            if (change < FIT_TOLERANCE) break;
+        }
+    }
+
+    /**
+     * Returns the players from first to last.
+     *
+     * @param byPoints true to rank by Swiss match points first, then by rating.
+     * @return Player indexes in rank order.
+     */
+    private synchronized Integer[] rankOrder(boolean byPoints) {
+        fitRatings();
+        Integer[] order = new Integer[numPlayers];
+        for (int i = 0; i < numPlayers; i++) order[i] = i;
+        Arrays.sort(order, (p, q) -> byPoints && points[p] != points[q]
+                ? Double.compare(points[q], points[p]) : Double.compare(ratings[q], ratings[p]));
+        return order;
+    }
+
+    /**
+     * Returns the standings so far: every player's rating, games and score.
+     *
+     * @param byPoints true to rank and show players by Swiss match points first.
+     * @return The standings, one line per player after a heading.
+     */
+    public synchronized String getStandings(boolean byPoints) {
+        Integer[] order = rankOrder(byPoints);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        StringBuilder text = new StringBuilder(String.format("standings after %d games (%.0f games/s)%n",
+                gamesPlayed, gamesPlayed / Math.max(1e-9, seconds)));
+        text.append(String.format("  %4s  %-12s %7s %12s %7s%s%n", "rank", "player", "rating", "games", "score",
+                byPoints ? "  points" : ""));
+        for (int rank = 0; rank < numPlayers; rank++) {
+            int player = order[rank];
+            long games = 0;
+            double score = 0;
+            for (int j = 0; j < numPlayers; j++) {
+                if (j == player) continue;
+                games += getGames(player, j);
+                score += wins[player * numPlayers + j] + 0.5 * ties[player * numPlayers + j];
+            }
+            text.append(String.format("  %4d  %-12s %7.1f %12d %6.1f%%%s%n", rank + 1, names[player],
+                    ratings[player], games, games == 0 ? 0 : 100 * score / games,
+                    byPoints ? String.format("  %6.1f", points[player]) : ""));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Runs a tournament from the command line, printing the standings as it goes.
+     *
+     * @param args See the class comment.
+     */
+    public static void main(String[] args) {
+        String[] players = {"random", "greedy", "solver"};
+        boolean swiss = false;
+        long games = 10_000;
+        int rounds = -1;
+        int size = 3;
+        int winLength = -1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        long interval = 5;
+
+        for (int i = 0; i < args.length; i += 2) {
+            if (i + 1 == args.length) throw new IllegalArgumentException("missing value for option: " + args[i]);
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--players": players = value.split(","); break;
+                case "--format":
+                    if (!value.equals("swiss") && !value.equals("roundrobin")) {
+                        throw new IllegalArgumentException("unknown format: " + value);
+                    }
+                    swiss = value.equals("swiss");
+                    break;
+                case "--games": games = Long.parseLong(value); break;
+                case "--rounds": rounds = Integer.parseInt(value); break;
+                case "--size": size = Integer.parseInt(value); break;
+                case "--win": winLength = Integer.parseInt(value); break;
+                case "--threads": threads = Integer.parseInt(value); break;
+                case "--seed": seed = Long.parseLong(value); break;
+                case "--interval": interval = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("unknown option: " + args[i]);
+            }
+        }
+        if (winLength < 0) winLength = Math.min(size, 3);
+        if (rounds < 0) rounds = 32 - Integer.numberOfLeadingZeros(players.length - 1);  // ceil(log2(players))
+
+        TicTacToeStrategy[] strategies = new TicTacToeStrategy[players.length];
+        for (int i = 0; i < players.length; i++) strategies[i] = TicTacToeStrategy.forName(players[i], size, winLength);
+        TicTacToeTournament tournament = new TicTacToeTournament(size, winLength, players, strategies);
+        System.out.println(size + "x" + size + ", " + winLength + " in a row, " + players.length + " players, "
+                + (swiss ? rounds + " Swiss rounds" : "round-robin") + ", " + games + " games per match, "
+                + threads + " threads");
+
+        boolean byPoints = swiss;
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "TicTacToe standings");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (interval > 0) {
+            reporter.scheduleAtFixedRate(() -> System.out.print(tournament.getStandings(byPoints)), interval,
+                    interval, TimeUnit.SECONDS);
+        }
+        try {
+            if (swiss) {
+                tournament.playSwiss(rounds, games, threads, seed,
+                        round -> System.out.print("round " + round + ": " + tournament.getStandings(true)));
+            } else {
+                tournament.playRoundRobin(games, threads, seed);
+            }
+        } finally {
+            reporter.shutdownNow();
+        }
+        System.out.print("final " + tournament.getStandings(byPoints));
+    }
+}
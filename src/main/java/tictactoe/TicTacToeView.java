@@ -0,0 +1,277 @@
+package tictactoe;
+
+import java.awt.*;
+import java.awt.event.*;
+import javax.swing.*;
+
+/**
+ * The user interface for the TicTacToe application,
+ * built from the Swing and AWT frameworks.
+ *
+ * The view only redraws what changed: the model's events mark squares, the game
+ * state or the score as dirty, and a burst of events is drawn by a single render
+ * on the next frame.  The listener methods must be called on the Swing event thread.
+ *
+ * @author Hubert Dang
+ * @version April 4, 2023, 2023
+ */
+
+public class TicTacToeView extends JPanel implements TicTacToeListener {
+
+    private JLabel gameStateDisplay;
+    private JPanel gameScore;
+    private JLabel numWinsXDisplay;
+    private JLabel numWinsODisplay;
+    private JMenuItem quitItem;
+    private final TicTacToeIcons icons;  // decoded in the background, scaled to the squares
+    private int iconSize;  // size of the icons on the buttons, 0 before the first render
+    private TicTacToeModel model;
+    private TicTacToeController controller;
+    private TicTacToeStatus shownStatus;  // status currently displayed, null before the first update
+    private int shownWinsX = -1;  // score currently displayed, -1 before the first update
+    private int shownWinsO = -1;
+
+    // what changed since the last render
+    private final boolean[] dirty;  // dirty[square] is true if the square is in dirtyCells
+    private final int[] dirtyCells;
+    private int numDirty;
+    private boolean allDirty = true;  // every square changed, e.g. after a new game
+    private boolean statusDirty = true;
+    private boolean scoreDirty = true;
+
+    private final Timer renderTimer;  // fires once per burst of changes
+    private long lastRender;  // System.nanoTime() of the last render
+
+
+    /**
+     * Create a view for the TicTacToe game.
+     *
+     * @param model The game's model.
+     */
+    public TicTacToeView(TicTacToeModel model) {
+        this.model = model;
+        int numSquares = model.getSize() * model.getSize();
+        dirty = new boolean[numSquares];
+        dirtyCells = new int[numSquares];
+        renderTimer = new Timer(0, e -> render());
+        renderTimer.setRepeats(false);
+        // once the icons are decoded by loadIcons(), draw them on every square
+        icons = new TicTacToeIcons(this::gameReset);
+        this.setLayout(new BorderLayout());
+
+        // displaying the game state
+        gameStateDisplay = new JLabel();
+        gameStateDisplay.setFont(new Font("serif", Font.PLAIN, 24));
+        this.add(gameStateDisplay, BorderLayout.WEST);
+
+        // create text fields to show number of wins for player X and player O
+        numWinsXDisplay = new JLabel();
+        numWinsODisplay = new JLabel();
+        numWinsXDisplay.setFont(new Font("serif", Font.PLAIN, 24));
+        numWinsODisplay.setFont(new Font("serif", Font.PLAIN, 24));
+
+        // create panel for the score and add the text fields for number of wins
+        gameScore = new JPanel();
+        gameScore.setLayout(new GridLayout(2, 1));
+
+        gameScore.add(numWinsODisplay);
+        gameScore.add(numWinsXDisplay);
+        this.add(gameScore, BorderLayout.EAST);
+    }
+
+
+    /**
+     * Set the controller to controller.
+     * <p>
+     * Note: This method was created to be able to access the game's
+     * controller from within the view.
+     *
+     * @param controller
+     */
+    public void setController(TicTacToeController controller) {
+        this.controller = controller;
+        // redraw every square with rescaled icons when the buttons change size
+        controller.getButton(0, 0).addComponentListener(new ComponentAdapter() {
+            public void componentResized(ComponentEvent e) {
+                gameReset();
+            }
+        });
+    }
+
+
+    /**
+     * Marks the square as changed.  See the documentation for TicTacToeListener.
+     */
+    public void moveApplied(int row, int col, String player) {
+        int square = row * model.getSize() + col;
+        if (!allDirty && !dirty[square]) {
+            dirty[square] = true;
+            dirtyCells[numDirty++] = square;
+        }
+        statusDirty = true;
+        scheduleRender();
+    }
+
+
+    /**
+     * Marks the square as changed.  See the documentation for TicTacToeListener.
+     */
+    public void moveUndone(int row, int col, String player) {
+        moveApplied(row, col, player);
+    }
+
+
+    /**
+     * Marks the game state as changed.  See the documentation for TicTacToeListener.
+     */
+    public void gameEnded(String winner) {
+        statusDirty = true;
+        scheduleRender();
+    }
+
+
+    /**
+     * Marks the score as changed.  See the documentation for TicTacToeListener.
+     */
+    public void scoreChanged(int numWinsX, int numWinsO) {
+        scoreDirty = true;
+        scheduleRender();
+    }
+
+
+    /**
+     * Marks the whole board as changed.  See the documentation for TicTacToeListener.
+     */
+    public void gameReset() {
+        allDirty = true;
+        statusDirty = true;
+        scheduleRender();
+    }
+
+
+    /**
+     * Starts decoding the icons in the background.  Until they are decoded the
+     * squares are drawn as plain buttons.
+     */
+    public void loadIcons() {
+        icons.load();
+    }
+
+
+    /**
+     * Displays the whole current state of the model at once.
+     */
+    public void refresh() {
+        allDirty = true;
+        statusDirty = true;
+        scoreDirty = true;
+        render();
+    }
+
+
+    /**
+     * Renders the changes on the next frame, unless a render is already due.
+     * Every change made before then is drawn by that one render.
+     */
+    private void scheduleRender() {
+        if (renderTimer.isRunning()) return;
+        long sinceLastRender = (System.nanoTime() - lastRender) / 1_000_000;
+        renderTimer.setInitialDelay((int) Math.max(0, TicTacToeCoalescingListener.FRAME_MILLIS - sinceLastRender));
+        renderTimer.restart();
+    }
+
+
+    /**
+     * Displays what changed since the last render: the changed squares and, only
+     * if they changed, the game state and the score.
+     */
+    private void render() {
+        long start = TicTacToeMetrics.RENDER.start();
+        renderTimer.stop();
+        lastRender = System.nanoTime();
+
+        // display current game state, only if it changed
+        if (statusDirty) {
+            TicTacToeStatus status = model.getStatus();
+            if (status != shownStatus) {
+                gameStateDisplay.setText(status.getText());
+                shownStatus = status;
+            }
+            statusDirty = false;
+        }
+
+        // display the score between player X and O, only building new Strings if a score changed
+        if (scoreDirty) {
+            int numWinsX = model.getNumWins(model.PLAYER_X);
+            int numWinsO = model.getNumWins(model.PLAYER_O);
+            if (numWinsX != shownWinsX) {
+                numWinsXDisplay.setText("X number of wins: " + numWinsX + " ");
+                shownWinsX = numWinsX;
+            }
+            if (numWinsO != shownWinsO) {
+                numWinsODisplay.setText("O number of wins: " + numWinsO + " ");
+                shownWinsO = numWinsO;
+            }
+            scoreDirty = false;
+        }
+
+        // display the correct marks on the changed buttons, or on all of them if the icons changed size
+        int size = model.getSize();
+        int newIconSize = iconSize();
+        if (newIconSize != iconSize) {
+            iconSize = newIconSize;
+            allDirty = true;
+        }
+        if (allDirty) {
+            for (int square = 0; square < size * size; square++) {
+                renderSquare(square / size, square % size);
+            }
+            allDirty = false;
+        } else {
+            for (int i = 0; i < numDirty; i++) {
+                renderSquare(dirtyCells[i] / size, dirtyCells[i] % size);
+            }
+        }
+        for (int i = 0; i < numDirty; i++) {
+            dirty[dirtyCells[i]] = false;
+        }
+        numDirty = 0;
+        TicTacToeMetrics.RENDER.stop(start);
+    }
+
+
+    /**
+     * Returns the largest icon size that fits inside a button.
+     *
+     * @return The icon size in pixels, or 0 if the buttons aren't laid out yet.
+     */
+    private int iconSize() {
+        JButton button = controller.getButton(0, 0);
+        Insets insets = button.getInsets();
+        return Math.max(0, Math.min(button.getWidth() - insets.left - insets.right,
+                button.getHeight() - insets.top - insets.bottom));
+    }
+
+
+    /**
+     * Sets a button's icon according to its mark, unless it is already showing it.
+     *
+     * @param row The row of the button.
+     * @param col The column of the button.
+     */
+    private void renderSquare(int row, int col) {
+        String mark = model.getMark(row, col);
+        ImageIcon icon;
+        if (mark == model.PLAYER_X) {
+            icon = icons.get(TicTacToeIcons.X, iconSize);
+        } else if (mark == model.PLAYER_O) {
+            icon = icons.get(TicTacToeIcons.O, iconSize);
+        } else {
+            icon = icons.get(TicTacToeIcons.EMPTY, iconSize);
+        }
+        JButton button = controller.getButton(row, col);
+        if (button.getIcon() != icon) {
+            button.setIcon(icon);
+        }
+    }
+}
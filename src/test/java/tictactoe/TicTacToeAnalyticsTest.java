@@ -0,0 +1,48 @@
+package tictactoe;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the counts TicTacToeAnalytics keeps of a model's games.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeAnalyticsTest {
+    /**
+     * A game is counted once however often its ending move is taken back and
+     * redone, and counted as it finally ended.
+     */
+    @Test
+    public void undoEnding() {
+        TicTacToeModel model = new TicTacToeModel();
+        TicTacToeAnalytics analytics = new TicTacToeAnalytics(3, 3);
+        model.addListener(analytics);
+        for (int square : new int[] {0, 3, 1, 4, 2}) model.makeMove(square / 3, square % 3);
+        for (int i = 0; i < 3; i++) {
+            model.unmakeMove();
+            model.redoMove();
+        }
+        assertEquals(1, analytics.getGames());
+        assertEquals(1, analytics.getResults(TicTacToeBoard.X, TicTacToeBoard.X));
+
+        model.unmakeMove();
+        assertEquals(0, analytics.getGames());
+        model.makeMove(2, 2);
+        model.makeMove(1, 2);  // O wins instead
+        assertEquals(1, analytics.getGames());
+        assertEquals(0, analytics.getResults(TicTacToeBoard.X, TicTacToeBoard.X));
+        assertEquals(1, analytics.getResults(TicTacToeBoard.X, TicTacToeBoard.O));
+        assertEquals(1, analytics.getLengthCount(6));
+        assertEquals(0, analytics.getLengthCount(5));
+        assertEquals(0, analytics.getMarks(TicTacToeBoard.X, 2));
+
+        model.newGame();
+        model.makeMove(1, 1);
+        model.unmakeMove();
+        assertEquals(1, analytics.getGames());
+    }
+}
@@ -0,0 +1,159 @@
+package tictactoe;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests writing games with TicTacToeGameLog and reading them back with
+ * TicTacToeGameLogReader.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeGameLogTest {
+    @TempDir
+    Path dir;
+
+    /**
+     * Random games of several boards read back as they were appended, in
+     * order and by seeking.
+     *
+     * @throws IOException If the log can't be written or read.
+     */
+    @Test
+    public void roundTrip() throws IOException {
+        for (int size : new int[] {3, 5, 8}) {
+            Path path = dir.resolve("games-" + size);
+            int winLength = Math.min(size, 4);
+            SplittableRandom random = new SplittableRandom(size);
+            int numGames = 200;
+            int[][] games = new int[numGames][];
+            int[] results = new int[numGames];
+            int[] starters = new int[numGames];
+            try (TicTacToeGameLog log = new TicTacToeGameLog(path, size, winLength)) {
+                TicTacToeBoard board = new TicTacToeBoard(size, winLength);
+                int[] moves = new int[size * size];
+                for (int g = 0; g < numGames; g++) {
+                    starters[g] = random.nextInt(2);
+                    board.setStartingPlayer(starters[g]);
+                    board.clear();
+                    int numMoves = 0;
+                    while (board.getWinner() == TicTacToeBoard.NONE) {
+                        int square = random.nextInt(size * size);
+                        if (board.isLegal(square)) {
+                            board.play(square);
+                            moves[numMoves++] = square;
+                        }
+                    }
+                    games[g] = Arrays.copyOf(moves, numMoves);
+                    results[g] = board.getWinner();
+                    log.append(results[g], starters[g], moves, numMoves);
+                }
+            }
+
+            try (TicTacToeGameLogReader reader = new TicTacToeGameLogReader(path)) {
+                assertEquals(size, reader.getSize());
+                assertEquals(winLength, reader.getWinLength());
+                assertEquals(numGames, reader.getNumGames());
+                for (int g = 0; g < numGames; g++) {
+                    assertTrue(reader.next());
+                    assertGame(reader, results[g], starters[g], games[g]);
+                }
+                assertFalse(reader.next());
+
+                reader.seek(numGames / 2);
+                assertTrue(reader.next());
+                assertEquals(numGames / 2, reader.getGame());
+                assertGame(reader, results[numGames / 2], starters[numGames / 2], games[numGames / 2]);
+            }
+        }
+    }
+
+    /**
+     * Checks the reader's current game.
+     *
+     * @param reader The reader.
+     * @param result The expected result.
+     * @param startingPlayer The expected starting player.
+     * @param moves The expected moves.
+     */
+    private static void assertGame(TicTacToeGameLogReader reader, int result, int startingPlayer, int[] moves) {
+        assertEquals(result, reader.getResult());
+        assertEquals(startingPlayer, reader.getStartingPlayer());
+        assertEquals(moves.length, reader.getNumMoves());
+        for (int i = 0; i < moves.length; i++) assertEquals(moves[i], reader.getMove(i));
+    }
+
+    /**
+     * A log registered with a model logs each game it finishes once, even when
+     * the ending move is taken back and redone.
+     *
+     * @throws IOException If the log can't be written or read.
+     */
+    @Test
+    public void undoEnding() throws IOException {
+        Path path = dir.resolve("model");
+        TicTacToeModel model = new TicTacToeModel();
+        try (TicTacToeGameLog log = new TicTacToeGameLog(path, 3, 3)) {
+            model.addListener(log);
+            for (int square : new int[] {0, 3, 1, 4, 2}) model.makeMove(square / 3, square % 3);
+            for (int i = 0; i < 3; i++) {
+                model.unmakeMove();
+                model.redoMove();
+            }
+            model.unmakeMove();
+            model.makeMove(2, 2);  // X plays elsewhere
+            model.makeMove(1, 2);  // and O wins
+        }
+
+        try (TicTacToeGameLogReader reader = new TicTacToeGameLogReader(path)) {
+            assertEquals(1, reader.getNumGames());
+            assertTrue(reader.next());
+            assertGame(reader, TicTacToeBoard.O, TicTacToeBoard.X, new int[] {0, 3, 1, 4, 8, 5});
+        }
+    }
+
+    /**
+     * Damaged records and headers are reported as IOExceptions, and the games
+     * around a damaged record can still be read.
+     *
+     * @throws IOException If the log can't be written or read.
+     */
+    @Test
+    public void damaged() throws IOException {
+        Path path = dir.resolve("damaged");
+        int[] game = {4, 0, 8, 2, 1, 7, 6, 3, 5};
+        try (TicTacToeGameLog log = new TicTacToeGameLog(path, 3, 3)) {
+            log.append(TicTacToeBoard.TIE, TicTacToeBoard.X, game, game.length);
+            log.append(TicTacToeBoard.TIE, TicTacToeBoard.X, game, game.length);
+            log.append(TicTacToeBoard.X, TicTacToeBoard.X, new int[] {15}, 1);  // a square off the board
+            log.append(TicTacToeBoard.TIE, TicTacToeBoard.X, game, game.length);
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[TicTacToeGameLog.HEADER_BYTES + 6] |= 0x78;  // the second game claims 15 moves
+        Files.write(path, bytes);
+
+        try (TicTacToeGameLogReader reader = new TicTacToeGameLogReader(path)) {
+            assertTrue(reader.next());
+            assertGame(reader, TicTacToeBoard.TIE, TicTacToeBoard.X, game);
+            assertThrows(IOException.class, reader::next);
+            assertThrows(IOException.class, reader::next);
+            assertTrue(reader.next());
+            assertGame(reader, TicTacToeBoard.TIE, TicTacToeBoard.X, game);
+        }
+
+        bytes[6] = 0;  // a board with no squares
+        bytes[8] = (byte) TicTacToeGameLog.recordBytes(0);
+        Files.write(path, bytes);
+        assertThrows(IOException.class, () -> new TicTacToeGameLogReader(path));
+    }
+}
@@ -0,0 +1,115 @@
+package tictactoe;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests making, taking back and redoing moves on a TicTacToeModel.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeModelTest {
+    /**
+     * Plays a sequence of moves, given as square indexes, on a model.
+     *
+     * @param model The model.
+     * @param squares The squares (row * size + col) to mark, in order.
+     */
+    private static void play(TicTacToeModel model, int... squares) {
+        for (int square : squares) {
+            assertTrue(model.makeMove(square / model.getSize(), square % model.getSize()));
+        }
+    }
+
+    /**
+     * Moves alternate between the players and illegal moves are refused.
+     */
+    @Test
+    public void makeMove() {
+        TicTacToeModel model = new TicTacToeModel();
+        assertEquals(TicTacToeModel.PLAYER_X, model.getCurrentPlayer());
+        assertTrue(model.makeMove(1, 1));
+        assertEquals(TicTacToeModel.PLAYER_X, model.getMark(1, 1));
+        assertEquals(TicTacToeModel.PLAYER_O, model.getCurrentPlayer());
+        assertFalse(model.makeMove(1, 1));
+        assertFalse(model.makeMove(3, 0));
+        assertFalse(model.makeMove(0, -1));
+        assertEquals(1, model.getNumMoves());
+    }
+
+    /**
+     * Taking back a move empties its square and gives the turn back.
+     */
+    @Test
+    public void unmakeMove() {
+        TicTacToeModel model = new TicTacToeModel();
+        assertFalse(model.unmakeMove());
+        play(model, 4, 0);
+        long hash = model.getHash();
+        play(model, 8);
+        assertTrue(model.unmakeMove());
+        assertEquals(TicTacToeModel.EMPTY, model.getMark(2, 2));
+        assertEquals(TicTacToeModel.PLAYER_X, model.getCurrentPlayer());
+        assertEquals(2, model.getNumMoves());
+        assertEquals(hash, model.getHash());
+        assertTrue(model.canRedo());
+    }
+
+    /**
+     * Taking back a winning move reopens the game and takes the win away;
+     * redoing it gives the win back.
+     */
+    @Test
+    public void undoAndRedoWin() {
+        TicTacToeModel model = new TicTacToeModel();
+        play(model, 0, 3, 1, 4, 2);  // X wins across the top
+        assertEquals(TicTacToeModel.PLAYER_X, model.getWinner());
+        assertEquals(1, model.getNumWins(TicTacToeModel.PLAYER_X));
+        assertFalse(model.makeMove(2, 2));
+
+        assertTrue(model.unmakeMove());
+        assertEquals(TicTacToeModel.EMPTY, model.getWinner());
+        assertEquals(0, model.getNumWins(TicTacToeModel.PLAYER_X));
+
+        assertTrue(model.redoMove());
+        assertFalse(model.redoMove());
+        assertEquals(TicTacToeModel.PLAYER_X, model.getWinner());
+        assertEquals(1, model.getNumWins(TicTacToeModel.PLAYER_X));
+        assertEquals(5, model.getNumMoves());
+    }
+
+    /**
+     * Redoing every move taken back restores the game, and a new move drops
+     * the moves that could be redone.
+     */
+    @Test
+    public void redoMove() {
+        TicTacToeModel model = new TicTacToeModel(4, 3);
+        int[] moves = {5, 0, 10, 15, 6};
+        play(model, moves);
+        long hash = model.getHash();
+        while (model.unmakeMove()) {
+            // take back the whole game
+        }
+        assertEquals(0, model.getNumMoves());
+        assertFalse(model.canUndo());
+
+        while (model.redoMove()) {
+            // and play it again
+        }
+        assertEquals(moves.length, model.getNumMoves());
+        assertEquals(hash, model.getHash());
+        int[] history = new int[16];
+        assertEquals(moves.length, model.getHistory(history));
+        for (int i = 0; i < moves.length; i++) assertEquals(moves[i], history[i]);
+
+        model.unmakeMove();
+        model.unmakeMove();
+        play(model, 3);
+        assertFalse(model.canRedo());
+        assertEquals(moves.length - 1, model.getHistory(history));
+    }
+}
@@ -0,0 +1,114 @@
+package tictactoe;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests saving and restoring a TicTacToeSession, and checkpointing boards with
+ * its encode and decode.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeSessionTest {
+    @TempDir
+    Path dir;
+
+    /**
+     * A restored model has the saved position, score, starting player and
+     * moves to redo.
+     *
+     * @throws IOException If the session can't be saved or restored.
+     */
+    @Test
+    public void saveAndRestore() throws IOException {
+        Path path = dir.resolve("session");
+        TicTacToeModel model = new TicTacToeModel(4, 3);
+        TicTacToeSession session = new TicTacToeSession(path, model);
+        model.addListener(session);
+        for (int square : new int[] {0, 5, 1, 6, 2}) model.makeMove(square / 4, square % 4);  // X wins
+        model.newGame();
+        model.changeStartingPlayer();
+        for (int square : new int[] {15, 10, 14, 9}) model.makeMove(square / 4, square % 4);
+        model.unmakeMove();
+        session.close();
+
+        TicTacToeModel restored = new TicTacToeModel(4, 3);
+        assertTrue(new TicTacToeSession(path, restored).restore());
+        assertEquals(model.getHash(), restored.getHash());
+        assertEquals(model.getCurrentPlayer(), restored.getCurrentPlayer());
+        assertEquals(1, restored.getNumWins(TicTacToeModel.PLAYER_X));
+        assertEquals(0, restored.getNumWins(TicTacToeModel.PLAYER_O));
+        assertEquals(3, restored.getNumMoves());
+        assertTrue(restored.redoMove());
+        assertTrue(model.redoMove());
+        assertEquals(model.getMark(2, 1), restored.getMark(2, 1));
+        assertEquals(model.getHash(), restored.getHash());
+        restored.newGame();
+        assertEquals(model.getCore().getStartingPlayer(), restored.getCore().getStartingPlayer());
+    }
+
+    /**
+     * Restoring with no session file leaves the model alone, and a damaged
+     * file is refused.
+     *
+     * @throws IOException If the file can't be written.
+     */
+    @Test
+    public void missingOrDamaged() throws IOException {
+        Path path = dir.resolve("session");
+        TicTacToeModel model = new TicTacToeModel();
+        TicTacToeSession session = new TicTacToeSession(path, model);
+        assertFalse(session.restore());
+
+        model.addListener(session);
+        model.makeMove(1, 1);
+        session.save();
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[TicTacToeSession.recordBytes(3) / 2] ^= 1;
+        Files.write(path, bytes);
+        assertThrows(IOException.class, () -> new TicTacToeSession(path, new TicTacToeModel()).restore());
+        assertThrows(IOException.class, () -> new TicTacToeSession(path, new TicTacToeModel(4, 4)).restore());
+    }
+
+    /**
+     * Boards encoded one after another into a buffer decode to the same positions.
+     *
+     * @throws IOException If a record can't be decoded.
+     */
+    @Test
+    public void checkpoint() throws IOException {
+        int size = 5;
+        int[][] games = {{}, {12}, {0, 1, 2, 3, 4, 5, 6}, {24, 23, 22, 21}};
+        ByteBuffer buffer = ByteBuffer.allocate(games.length * TicTacToeSession.recordBytes(size));
+        long[] hashes = new long[games.length];
+        for (int g = 0; g < games.length; g++) {
+            TicTacToeBoard board = new TicTacToeBoard(size, 4);
+            board.setStartingPlayer(g & 1);
+            board.clear();
+            for (int square : games[g]) board.play(square);
+            hashes[g] = board.getHash();
+            TicTacToeSession.encode(board, games[g], games[g].length, buffer);
+        }
+        assertFalse(buffer.hasRemaining());
+
+        buffer.flip();
+        TicTacToeBoard board = new TicTacToeBoard(size, 4);
+        int[] moves = new int[size * size];
+        for (int g = 0; g < games.length; g++) {
+            assertEquals(games[g].length, TicTacToeSession.decode(buffer, board, moves));
+            assertEquals(hashes[g], board.getHash());
+            assertEquals(g & 1, board.getStartingPlayer());
+            for (int i = 0; i < games[g].length; i++) assertEquals(games[g][i], moves[i]);
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+}
@@ -0,0 +1,114 @@
+package tictactoe;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks TicTacToeSolver against a plain minimax over every reachable 3x3 position.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeSolverTest {
+    private static final int FULL = 0x1ff;
+    private static final int[] LINES = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000,
+            0b001_001_001, 0b010_010_010, 0b100_100_100,
+            0b100_010_001, 0b001_010_100
+    };
+
+    /**
+     * Returns true if a mask holds a complete line.
+     *
+     * @param mask The squares of one player.
+     * @return true if they include 3 in a row.
+     */
+    private static boolean hasLine(int mask) {
+        for (int line : LINES) {
+            if ((mask & line) == line) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Values a position by trying every move, with no pruning and no table.  A
+     * win is worth one more than the number of squares left free after it.
+     *
+     * @param mine The squares of the player to move.
+     * @param theirs The squares of the other player.
+     * @return The value for the player to move, scored as the solver does.
+     */
+    private static int bruteForce(int mine, int theirs) {
+        if ((mine | theirs) == FULL) return 0;
+        int best = Integer.MIN_VALUE;
+        for (int square = 0; square < 9; square++) {
+            int bit = 1 << square;
+            if (((mine | theirs) & bit) != 0) continue;
+            int next = mine | bit;
+            int free = 9 - Integer.bitCount(next | theirs);
+            int value = hasLine(next) ? free + 1 : free == 0 ? 0 : -bruteForce(theirs, next);
+            best = Math.max(best, value);
+        }
+        return best;
+    }
+
+    /**
+     * Collects every position reachable in a game that is still in progress.
+     *
+     * @param mine The squares of the player to move.
+     * @param theirs The squares of the other player.
+     * @param positions Filled with mine * 512 + theirs for each position.
+     */
+    private static void reachable(int mine, int theirs, Set<Integer> positions) {
+        if (hasLine(theirs) || (mine | theirs) == FULL || !positions.add(mine << 9 | theirs)) return;
+        for (int square = 0; square < 9; square++) {
+            int bit = 1 << square;
+            if (((mine | theirs) & bit) == 0) reachable(theirs, mine | bit, positions);
+        }
+    }
+
+    /**
+     * Every reachable position has an exact table entry equal to the brute-force
+     * value, and its best move reaches that value.
+     */
+    @Test
+    public void matchesBruteForce() {
+        Set<Integer> positions = new HashSet<>();
+        reachable(0, 0, positions);
+        Set<Integer> entries = new HashSet<>();
+        for (int position : positions) {
+            int mine = position >>> 9;
+            int theirs = position & FULL;
+            entries.add(TicTacToeSolver.canonicalCode(mine, theirs));
+            assertTrue(TicTacToeSolver.isSolved(mine, theirs), "entry not exact");
+            int value = bruteForce(mine, theirs);
+            assertEquals(value, TicTacToeSolver.evaluate(mine, theirs));
+
+            int square = TicTacToeSolver.bestMove(mine, theirs);
+            int next = mine | 1 << square;
+            assertEquals(0, (mine | theirs) & 1 << square);
+            int free = 9 - Integer.bitCount(next | theirs);
+            assertEquals(value, hasLine(next) ? free + 1 : free == 0 ? 0 : -bruteForce(theirs, next));
+        }
+        assertEquals(4520, positions.size());  // 5478 legal positions less 958 finished games
+        assertEquals(627, entries.size());
+    }
+
+    /**
+     * The empty board is a draw, and the solver takes an immediate win.
+     */
+    @Test
+    public void board() {
+        TicTacToeBoard board = new TicTacToeBoard();
+        assertEquals(0, TicTacToeSolver.evaluate(board));
+        for (int square : new int[] {0, 3, 1, 4}) board.play(square);
+        assertEquals(2, TicTacToeSolver.bestMove(board));
+        board.play(2);
+        assertEquals(TicTacToeSolver.NO_MOVE, TicTacToeSolver.bestMove(board));
+    }
+}
@@ -0,0 +1,109 @@
+package tictactoe;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests generating a TicTacToeTablebase, writing it and opening it again.
+ *
+ * @author Hubert Dang
+ * @version October 18, 2026
+ */
+
+public class TicTacToeTablebaseTest {
+    @TempDir
+    Path dir;
+
+    /**
+     * A 3x3 table read back from its file answers every reachable position as
+     * the table in memory does, and agrees with the solver.
+     *
+     * @throws IOException If the table can't be written or read.
+     */
+    @Test
+    public void roundTrip() throws IOException {
+        TicTacToeTablebase generated = TicTacToeTablebase.generate(3, 3);
+        Path path = dir.resolve("tictactoe-3x3-3.tb");
+        generated.write(path);
+        TicTacToeTablebase opened = TicTacToeTablebase.open(path);
+        assertEquals(3, opened.getSize());
+        assertEquals(3, opened.getWinLength());
+        for (int starter = TicTacToeBoard.X; starter <= TicTacToeBoard.O; starter++) {
+            TicTacToeBoard board = new TicTacToeBoard();
+            board.setStartingPlayer(starter);
+            board.clear();
+            check(generated, opened, board);
+        }
+    }
+
+    /**
+     * Compares two tables on a position and every position reachable from it.
+     *
+     * @param expected The table in memory.
+     * @param actual The table read from its file.
+     * @param board The position, restored before returning.
+     */
+    private static void check(TicTacToeTablebase expected, TicTacToeTablebase actual, TicTacToeBoard board) {
+        int outcome = actual.getOutcome(board);
+        assertEquals(expected.getOutcome(board), outcome);
+        assertEquals(expected.bestMove(board), actual.bestMove(board));
+        if (board.getWinner() != TicTacToeBoard.NONE) {
+            assertEquals(TicTacToeBoard.NONE, outcome);
+            return;
+        }
+        int value = TicTacToeSolver.evaluate(board);
+        assertEquals(value > 0 ? TicTacToeTablebase.WIN : value < 0 ? TicTacToeTablebase.LOSS
+                : TicTacToeTablebase.DRAW, outcome);
+        assertTrue(board.isLegal(actual.bestMove(board)));
+        for (int square = 0; square < 9; square++) {
+            if (!board.isLegal(square)) continue;
+            board.play(square);
+            check(expected, actual, board);
+            board.undo(square);
+        }
+    }
+
+    /**
+     * A file that isn't a table is refused.
+     *
+     * @throws IOException If the file can't be written.
+     */
+    @Test
+    public void notATable() throws IOException {
+        Path path = dir.resolve("empty.tb");
+        Files.write(path, new byte[TicTacToeTablebase.HEADER_BYTES]);
+        assertThrows(IOException.class, () -> TicTacToeTablebase.open(path));
+    }
+
+    /**
+     * The "tablebase" strategy plays from the table file of its board, and is
+     * refused for a board the file doesn't cover rather than playing otherwise.
+     *
+     * @throws IOException If the table can't be written.
+     */
+    @Test
+    public void strategy() throws IOException {
+        Path path = dir.resolve("table.tb");
+        TicTacToeTablebase table = TicTacToeTablebase.generate(3, 3);
+        table.write(path);
+        System.setProperty("tictactoe.tablebase", path.toString());
+        try {
+            TicTacToeStrategy strategy = TicTacToeStrategy.forName("tablebase", 3, 3);
+            TicTacToeBoard board = new TicTacToeBoard();
+            board.play(4);
+            assertEquals(table.bestMove(board), strategy.chooseMove(board, new SplittableRandom(1)));
+            assertThrows(IllegalArgumentException.class, () -> TicTacToeStrategy.forName("tablebase", 4, 3));
+            assertThrows(IllegalArgumentException.class,
+                    () -> strategy.chooseMove(new TicTacToeBoard(4, 3), new SplittableRandom(1)));
+        } finally {
+            System.clearProperty("tictactoe.tablebase");
+        }
+    }
+}